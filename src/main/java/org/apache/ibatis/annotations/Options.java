@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -133,6 +133,31 @@ public @interface Options {
    */
   String resultSets() default "";
 
+  /**
+   * Returns the cache tags.
+   * <p>
+   * The results of a select statement are cached with its tags, and a statement that flushes the cache only invalidates
+   * the results cached with one of its tags. A tag may hold {@code #{property}} placeholders replaced by parameter
+   * values. If you specify multiple tags, please separate using comma(',').
+   *
+   * @return cache tags that separate with comma(',')
+   *
+   * @since 3.6.0
+   */
+  String cacheTags() default "";
+
+  /**
+   * Returns the number of rows an insert statement writes at most with one multi-row {@code VALUES} clause.
+   * <p>
+   * When it is greater than 0 and the statement is executed with a collection or an array, the {@code VALUES} clause of
+   * the statement is repeated for each of its rows, and generated keys are set to the rows.
+   *
+   * @return the number of rows per statement
+   *
+   * @since 3.6.0
+   */
+  int multiRowInsertSize() default 0;
+
   /**
    * @return A database id that correspond this options
    *
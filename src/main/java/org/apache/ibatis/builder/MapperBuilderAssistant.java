@@ -33,6 +33,7 @@ import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.SelectKeyGenerator;
 import org.apache.ibatis.mapping.CacheBuilder;
 import org.apache.ibatis.mapping.Discriminator;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -129,8 +130,12 @@ public class MapperBuilderAssistant extends BaseBuilder {
       Integer size, boolean readWrite, boolean blocking, Properties props) {
     Cache cache = new CacheBuilder(currentNamespace).implementation(valueOrDefault(typeClass, PerpetualCache.class))
         .addDecorator(valueOrDefault(evictionClass, LruCache.class)).clearInterval(flushInterval).size(size)
-        .readWrite(readWrite).blocking(blocking).properties(props).build();
+        .readWrite(readWrite).blocking(blocking).tagVersions(configuration.getCacheTagVersions(currentNamespace))
+        .properties(props).build();
     configuration.addCache(cache);
+    if (!readWrite) {
+      configuration.addReadOnlyCache(cache.getId());
+    }
     currentCache = cache;
     return cache;
   }
@@ -204,6 +209,40 @@ public class MapperBuilderAssistant extends BaseBuilder {
       String resultMap, Class<?> resultType, ResultSetType resultSetType, boolean flushCache, boolean useCache,
       boolean resultOrdered, KeyGenerator keyGenerator, String keyProperty, String keyColumn, String databaseId,
       LanguageDriver lang, String resultSets, boolean dirtySelect, ParamNameResolver paramNameResolver) {
+    return addMappedStatement(id, sqlSource, statementType, sqlCommandType, fetchSize, timeout, parameterMap,
+        parameterType, resultMap, resultType, resultSetType, flushCache, useCache, resultOrdered, keyGenerator,
+        keyProperty, keyColumn, databaseId, lang, resultSets, dirtySelect, paramNameResolver, null);
+  }
+
+  /**
+   * Adds a mapped statement whose cached results are tagged, or which invalidates the cached results of its tags
+   * instead of clearing the cache.
+   *
+   * @since 3.6.0
+   */
+  public MappedStatement addMappedStatement(String id, SqlSource sqlSource, StatementType statementType,
+      SqlCommandType sqlCommandType, Integer fetchSize, Integer timeout, String parameterMap, Class<?> parameterType,
+      String resultMap, Class<?> resultType, ResultSetType resultSetType, boolean flushCache, boolean useCache,
+      boolean resultOrdered, KeyGenerator keyGenerator, String keyProperty, String keyColumn, String databaseId,
+      LanguageDriver lang, String resultSets, boolean dirtySelect, ParamNameResolver paramNameResolver,
+      String cacheTags) {
+    return addMappedStatement(id, sqlSource, statementType, sqlCommandType, fetchSize, timeout, parameterMap,
+        parameterType, resultMap, resultType, resultSetType, flushCache, useCache, resultOrdered, keyGenerator,
+        keyProperty, keyColumn, databaseId, lang, resultSets, dirtySelect, paramNameResolver, cacheTags, null);
+  }
+
+  /**
+   * Adds a mapped statement with cache tags, which may also insert the rows of a collection parameter with multi-row
+   * inserts of at most {@code multiRowInsertSize} rows each.
+   *
+   * @since 3.6.0
+   */
+  public MappedStatement addMappedStatement(String id, SqlSource sqlSource, StatementType statementType,
+      SqlCommandType sqlCommandType, Integer fetchSize, Integer timeout, String parameterMap, Class<?> parameterType,
+      String resultMap, Class<?> resultType, ResultSetType resultSetType, boolean flushCache, boolean useCache,
+      boolean resultOrdered, KeyGenerator keyGenerator, String keyProperty, String keyColumn, String databaseId,
+      LanguageDriver lang, String resultSets, boolean dirtySelect, ParamNameResolver paramNameResolver,
+      String cacheTags, Integer multiRowInsertSize) {
 
     if (unresolvedCacheRef) {
       throw new IncompleteElementException("Cache-ref not yet resolved");
@@ -211,12 +250,19 @@ public class MapperBuilderAssistant extends BaseBuilder {
 
     id = applyCurrentNamespace(id, false);
 
+    if (multiRowInsertSize != null && multiRowInsertSize > 0 && keyGenerator instanceof SelectKeyGenerator) {
+      // a select key would be run once per chunk, with the list of its rows as parameter
+      throw new BuilderException(
+          "The multiRowInsertSize of statement '" + id + "' cannot be used with a selectKey, use useGeneratedKeys.");
+    }
+
     MappedStatement.Builder statementBuilder = new MappedStatement.Builder(configuration, id, sqlSource, sqlCommandType)
         .resource(resource).fetchSize(fetchSize).timeout(timeout).statementType(statementType)
         .keyGenerator(keyGenerator).keyProperty(keyProperty).keyColumn(keyColumn).databaseId(databaseId).lang(lang)
         .resultOrdered(resultOrdered).resultSets(resultSets)
         .resultMaps(getStatementResultMaps(resultMap, resultType, id)).resultSetType(resultSetType)
         .flushCacheRequired(flushCache).useCache(useCache).cache(currentCache).dirtySelect(dirtySelect)
+        .cacheTags(cacheTags).multiRowInsertSize(valueOrDefault(multiRowInsertSize, 0))
         .paramNameResolver(paramNameResolver);
 
     ParameterMap statementParameterMap = getStatementParameterMap(parameterMap, parameterType, id);
@@ -225,6 +271,9 @@ public class MapperBuilderAssistant extends BaseBuilder {
     }
 
     MappedStatement statement = statementBuilder.build();
+    if (currentCache != null && flushCache && statement.getCacheTags() != null) {
+      configuration.getCacheTagVersions(currentCache.getId()).setInvalidatedByTags(true);
+    }
     configuration.addMappedStatement(statement);
     return statement;
   }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -358,7 +358,8 @@ public class MapperAnnotationBuilder {
           false, keyGenerator, keyProperty, keyColumn, statementAnnotation.getDatabaseId(), languageDriver,
           // ResultSets
           options != null ? nullOrEmpty(options.resultSets()) : null, statementAnnotation.isDirtySelect(),
-          paramNameResolver);
+          paramNameResolver, options != null ? nullOrEmpty(options.cacheTags()) : null,
+          options != null && options.multiRowInsertSize() > 0 ? options.multiRowInsertSize() : null);
     });
   }
 
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -292,6 +292,14 @@ public class XMLConfigBuilder extends BaseBuilder {
         booleanValueOf(props.getProperty("argNameBasedConstructorAutoMapping"), false));
     configuration.setDefaultSqlProviderType(resolveClass(props.getProperty("defaultSqlProviderType")));
     configuration.setNullableOnForEach(booleanValueOf(props.getProperty("nullableOnForEach"), false));
+    configuration.setCoalesceCacheMisses(booleanValueOf(props.getProperty("coalesceCacheMisses"), false));
+    configuration.setGroupBatchStatements(booleanValueOf(props.getProperty("groupBatchStatements"), false));
+    configuration.setBatchSize(integerValueOf(props.getProperty("batchSize"), 0));
+    configuration
+        .setDiscardBatchParameterObjects(booleanValueOf(props.getProperty("discardBatchParameterObjects"), false));
+    configuration.setAsyncBatchFlush(booleanValueOf(props.getProperty("asyncBatchFlush"), false));
+    configuration.setReuseExecutorMaxStatements(integerValueOf(props.getProperty("reuseExecutorMaxStatements"), 0));
+    configuration.setUseCompiledRowMappers(booleanValueOf(props.getProperty("useCompiledRowMappers"), false));
   }
 
   private void environmentsElement(XNode context) throws Exception {
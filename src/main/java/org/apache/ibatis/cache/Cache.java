@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -87,6 +87,18 @@ public interface Cache {
    */
   int getSize();
 
+  /**
+   * Optional. This method is not called by the core.
+   *
+   * @return The total weight of the elements stored in the cache, as estimated by a {@link Weigher}. Caches that do not
+   *         weigh their elements return their number.
+   *
+   * @since 3.6.0
+   */
+  default long getWeight() {
+    return getSize();
+  }
+
   /**
    * Optional. As of 3.2.6 this method is no longer called by the core.
    * <p>
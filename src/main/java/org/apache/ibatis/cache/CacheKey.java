@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,8 +16,7 @@
 package org.apache.ibatis.cache;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.StringJoiner;
 
 import org.apache.ibatis.reflection.ArrayUtil;
@@ -27,7 +26,11 @@ import org.apache.ibatis.reflection.ArrayUtil;
  */
 public class CacheKey implements Cloneable, Serializable {
 
-  private static final long serialVersionUID = 1146682552656046210L;
+  private static final long serialVersionUID = -2358418539411541373L;
+
+  private static final long DEFAULT_HASH = 17;
+  private static final int DEFAULT_CAPACITY = 8;
+  private static final Object[] EMPTY_UPDATES = {};
 
   public static final CacheKey NULL_CACHE_KEY = new CacheKey() {
 
@@ -44,43 +47,68 @@ public class CacheKey implements Cloneable, Serializable {
     }
   };
 
-  private static final int DEFAULT_MULTIPLIER = 37;
-  private static final int DEFAULT_HASHCODE = 17;
-
-  private final int multiplier;
-  private int hashcode;
-  private long checksum;
+  // 64-bit hash of the updates, so that keys with equal hashes rarely need to be compared element by element
+  private long hash;
   private int count;
   // 8/21/2017 - Sonarlint flags this as needing to be marked transient. While true if content is not serializable, this
   // is not always true and thus should not be marked transient.
-  private List<Object> updateList;
+  private Object[] updates;
 
   public CacheKey() {
-    this.hashcode = DEFAULT_HASHCODE;
-    this.multiplier = DEFAULT_MULTIPLIER;
+    this.hash = DEFAULT_HASH;
     this.count = 0;
-    this.updateList = new ArrayList<>();
+    this.updates = EMPTY_UPDATES;
   }
 
   public CacheKey(Object[] objects) {
-    this();
+    this(objects.length);
     updateAll(objects);
   }
 
+  /**
+   * Creates an empty key with room for the given number of updates.
+   *
+   * @param expectedUpdateCount
+   *          the expected number of updates
+   *
+   * @since 3.6.0
+   */
+  public CacheKey(int expectedUpdateCount) {
+    this();
+    this.updates = expectedUpdateCount > 0 ? new Object[expectedUpdateCount] : EMPTY_UPDATES;
+  }
+
+  /**
+   * Creates a key starting with the updates of another key, typically a prefix shared by many keys.
+   *
+   * @param prefix
+   *          the key to copy
+   * @param additionalUpdateCount
+   *          the expected number of further updates
+   *
+   * @since 3.6.0
+   */
+  public CacheKey(CacheKey prefix, int additionalUpdateCount) {
+    this.hash = prefix.hash;
+    this.count = prefix.count;
+    this.updates = Arrays.copyOf(prefix.updates, prefix.count + Math.max(0, additionalUpdateCount));
+  }
+
   public int getUpdateCount() {
-    return updateList.size();
+    return count;
   }
 
   public void update(Object object) {
     int baseHashCode = object == null ? 1 : ArrayUtil.hashCode(object);
 
-    count++;
-    checksum += baseHashCode;
-    baseHashCode *= count;
-
-    hashcode = multiplier * hashcode + baseHashCode;
+    long h = hash + (baseHashCode & 0xffffffffL) * 0x9e3779b97f4a7c15L;
+    h = (h ^ (h >>> 31)) * 0xbf58476d1ce4e5b9L;
+    hash = h ^ (h >>> 27);
 
-    updateList.add(object);
+    if (count == updates.length) {
+      updates = Arrays.copyOf(updates, Math.max(DEFAULT_CAPACITY, count << 1));
+    }
+    updates[count++] = object;
   }
 
   public void updateAll(Object[] objects) {
@@ -100,14 +128,12 @@ public class CacheKey implements Cloneable, Serializable {
 
     final CacheKey cacheKey = (CacheKey) object;
 
-    if ((hashcode != cacheKey.hashcode) || (checksum != cacheKey.checksum) || (count != cacheKey.count)) {
+    if ((hash != cacheKey.hash) || (count != cacheKey.count)) {
       return false;
     }
 
-    for (int i = 0; i < updateList.size(); i++) {
-      Object thisObject = updateList.get(i);
-      Object thatObject = cacheKey.updateList.get(i);
-      if (!ArrayUtil.equals(thisObject, thatObject)) {
+    for (int i = 0; i < count; i++) {
+      if (!ArrayUtil.equals(updates[i], cacheKey.updates[i])) {
         return false;
       }
     }
@@ -116,22 +142,24 @@ public class CacheKey implements Cloneable, Serializable {
 
   @Override
   public int hashCode() {
-    return hashcode;
+    return (int) (hash ^ (hash >>> 32));
   }
 
   @Override
   public String toString() {
     StringJoiner returnValue = new StringJoiner(":");
-    returnValue.add(String.valueOf(hashcode));
-    returnValue.add(String.valueOf(checksum));
-    updateList.stream().map(ArrayUtil::toString).forEach(returnValue::add);
+    returnValue.add(String.valueOf(hashCode()));
+    returnValue.add(String.valueOf(hash));
+    for (int i = 0; i < count; i++) {
+      returnValue.add(ArrayUtil.toString(updates[i]));
+    }
     return returnValue.toString();
   }
 
   @Override
   public CacheKey clone() throws CloneNotSupportedException {
     CacheKey clonedCacheKey = (CacheKey) super.clone();
-    clonedCacheKey.updateList = new ArrayList<>(updateList);
+    clonedCacheKey.updates = count == 0 ? EMPTY_UPDATES : Arrays.copyOf(updates, count);
     return clonedCacheKey;
   }
 
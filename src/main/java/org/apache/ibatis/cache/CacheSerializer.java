@@ -0,0 +1,74 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.io.Serializable;
+
+import org.apache.ibatis.cache.serializer.CompactCacheSerializer;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
+import org.apache.ibatis.io.Resources;
+
+/**
+ * SPI for turning cached values into bytes, used by the read-write and off-heap caches.
+ * <p>
+ * The bytes never leave the process, so a serializer may rely on state shared by the calls of one cache instance.
+ * Implementations must be thread-safe and, when configured by class name, have a public no-argument constructor.
+ *
+ * @since 3.6.0
+ */
+public interface CacheSerializer {
+
+  /**
+   * @param value
+   *          The value to serialize, which may be null
+   *
+   * @return The serialized value
+   */
+  byte[] serialize(Serializable value);
+
+  /**
+   * Implementations should call {@link org.apache.ibatis.io.SerialFilterChecker#check()} first.
+   *
+   * @param bytes
+   *          The bytes returned by {@link #serialize(Serializable)} on the same instance
+   *
+   * @return The deserialized value
+   */
+  Serializable deserialize(byte[] bytes);
+
+  /**
+   * Creates a serializer from its configured name.
+   *
+   * @param name
+   *          {@code java}, {@code compact} or the fully qualified name of a {@code CacheSerializer} implementation
+   *
+   * @return A new serializer
+   */
+  static CacheSerializer forName(String name) {
+    if ("java".equalsIgnoreCase(name)) {
+      return new JavaCacheSerializer();
+    }
+    if ("compact".equalsIgnoreCase(name)) {
+      return new CompactCacheSerializer();
+    }
+    try {
+      return (CacheSerializer) Resources.classForName(name).getDeclaredConstructor().newInstance();
+    } catch (Exception e) {
+      throw new CacheException("Could not instantiate cache serializer (" + name + "). Cause: " + e, e);
+    }
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Versions of the tags of the results held in a second-level cache.
+ * <p>
+ * A result cached by a statement that declares tags is wrapped with the versions its tags had before its query was
+ * executed, and a statement that invalidates tags increments their versions, so the result is stale once any of its
+ * tags has a newer version. Tags are hashed to a fixed number of versions, so invalidating a tag may also make results
+ * of another tag stale, but never leaves a result of the tag fresh.
+ * <p>
+ * Once a statement of the cache invalidates tags, results cached without tags get the {@link #UNTAGGED} tag, which is
+ * invalidated along with any other tag, as their query may have read the rows written.
+ *
+ * @since 3.6.0
+ */
+public final class CacheTagVersions {
+
+  /**
+   * The tag of the results cached without tags.
+   */
+  public static final String UNTAGGED = "";
+
+  private static final int SLOTS = 4096;
+
+  private final AtomicLongArray versions = new AtomicLongArray(SLOTS);
+  private volatile boolean invalidatedByTags;
+
+  /**
+   * Wraps a result of a query with the versions the given tags had before the query was executed.
+   *
+   * @param value
+   *          the result
+   * @param tags
+   *          the tags of the result
+   * @param tagVersions
+   *          the versions returned by {@link #getVersions(String[])} before the query was executed
+   *
+   * @return the value to put in the cache
+   */
+  public Object tag(Object value, String[] tags, long[] tagVersions) {
+    return new TaggedValue(value, tags, tagVersions);
+  }
+
+  /**
+   * Unwraps a cached value.
+   *
+   * @param cached
+   *          the value held in the cache
+   *
+   * @return the result, or null if any of its tags was invalidated since its query was executed
+   */
+  public Object untag(Object cached) {
+    if (!(cached instanceof TaggedValue)) {
+      return cached;
+    }
+    TaggedValue taggedValue = (TaggedValue) cached;
+    for (int i = 0; i < taggedValue.tags.length; i++) {
+      if (versions.get(slot(taggedValue.tags[i])) != taggedValue.versions[i]) {
+        return null;
+      }
+    }
+    return taggedValue.value;
+  }
+
+  /**
+   * Returns the tags of a cached value.
+   *
+   * @param cached
+   *          the value held in the cache
+   *
+   * @return the tags, or null if the value has no tags
+   */
+  public static String[] getTags(Object cached) {
+    return cached instanceof TaggedValue ? ((TaggedValue) cached).tags : null;
+  }
+
+  /**
+   * Unwraps a cached value without checking the versions of its tags, e.g. to weigh it.
+   *
+   * @param cached
+   *          the value held in the cache
+   *
+   * @return the result, which may be stale
+   */
+  public static Object unwrap(Object cached) {
+    return cached instanceof TaggedValue ? ((TaggedValue) cached).value : cached;
+  }
+
+  public boolean isInvalidatedByTags() {
+    return invalidatedByTags;
+  }
+
+  public void setInvalidatedByTags(boolean invalidatedByTags) {
+    this.invalidatedByTags = invalidatedByTags;
+  }
+
+  public long[] getVersions(String[] tags) {
+    long[] tagVersions = new long[tags.length];
+    for (int i = 0; i < tags.length; i++) {
+      tagVersions[i] = versions.get(slot(tags[i]));
+    }
+    return tagVersions;
+  }
+
+  public void invalidate(Collection<String> tags) {
+    for (String tag : tags) {
+      versions.incrementAndGet(slot(tag));
+    }
+  }
+
+  private static int slot(String tag) {
+    int h = tag.hashCode();
+    return (h ^ (h >>> 16)) & (SLOTS - 1);
+  }
+
+  private static final class TaggedValue implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Object value;
+    private final String[] tags;
+    private final long[] versions;
+
+    TaggedValue(Object value, String[] tags, long[] versions) {
+      this.value = value;
+      this.tags = tags;
+      this.versions = versions;
+    }
+  }
+
+}
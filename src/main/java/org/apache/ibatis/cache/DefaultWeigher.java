@@ -0,0 +1,43 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.util.Collection;
+
+/**
+ * Weighs a cached list by its number of rows.
+ * <p>
+ * When the cache is read-write, the {@link org.apache.ibatis.cache.decorators.SerializedCache} stores values as byte
+ * arrays before they reach the eviction decorators, and an entry then weighs its serialized size in bytes. Results of
+ * statements with cache tags are weighed without their tags.
+ *
+ * @since 3.6.0
+ */
+public class DefaultWeigher implements Weigher {
+
+  @Override
+  public int weigh(Object key, Object cached) {
+    Object value = CacheTagVersions.unwrap(cached);
+    if (value instanceof byte[]) {
+      return Math.max(1, ((byte[]) value).length);
+    }
+    if (value instanceof Collection) {
+      return Math.max(1, ((Collection<?>) value).size());
+    }
+    return 1;
+  }
+
+}
@@ -0,0 +1,30 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+/**
+ * Marks a {@link Cache} that can be called by several threads at once without external locking. A decorator that
+ * implements it is thread-safe as long as its delegate is.
+ * <p>
+ * When the base cache and every decorator of a namespace are thread-safe, the
+ * {@link org.apache.ibatis.mapping.CacheBuilder} does not wrap them in a
+ * {@link org.apache.ibatis.cache.decorators.SynchronizedCache}, so reads no longer serialize on a single lock.
+ *
+ * @since 3.6.0
+ */
+public interface ThreadSafeCache extends Cache {
+
+}
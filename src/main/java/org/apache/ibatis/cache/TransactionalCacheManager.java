@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.cache;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -39,6 +40,27 @@ public class TransactionalCacheManager {
     getTransactionalCache(cache).putObject(key, value);
   }
 
+  /**
+   * @since 3.6.0
+   */
+  public boolean isClearOnCommit(Cache cache) {
+    return getTransactionalCache(cache).isClearOnCommit();
+  }
+
+  /**
+   * @since 3.6.0
+   */
+  public boolean isInvalidatingTags(Cache cache) {
+    return getTransactionalCache(cache).isInvalidatingTags();
+  }
+
+  /**
+   * @since 3.6.0
+   */
+  public void invalidateTags(Cache cache, CacheTagVersions tagVersions, Collection<String> tags) {
+    getTransactionalCache(cache).invalidateTags(tagVersions, tags);
+  }
+
   public void commit() {
     for (TransactionalCache txCache : transactionalCaches.values()) {
       txCache.commit();
@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+/**
+ * Estimates the weight of a cached entry, for the cache decorators bounded by a maximum weight.
+ * <p>
+ * Implementations configured by class name must have a public no-argument constructor.
+ *
+ * @since 3.6.0
+ *
+ * @see DefaultWeigher
+ */
+@FunctionalInterface
+public interface Weigher {
+
+  /**
+   * @param key
+   *          The key
+   * @param value
+   *          The cached value, which may be null
+   *
+   * @return The weight of the entry, at least 1
+   */
+  int weigh(Object key, Object value);
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheTagVersions;
 
 /**
  * <p>
@@ -37,6 +38,7 @@ import org.apache.ibatis.cache.CacheException;
 public class BlockingCache implements Cache {
 
   private long timeout;
+  private CacheTagVersions tagVersions;
   private final Cache delegate;
   private final ConcurrentHashMap<Object, CountDownLatch> locks;
 
@@ -55,6 +57,11 @@ public class BlockingCache implements Cache {
     return delegate.getSize();
   }
 
+  @Override
+  public long getWeight() {
+    return delegate.getWeight();
+  }
+
   @Override
   public void putObject(Object key, Object value) {
     try {
@@ -68,10 +75,12 @@ public class BlockingCache implements Cache {
   public Object getObject(Object key) {
     acquireLock(key);
     Object value = delegate.getObject(key);
-    if (value != null) {
+    // a result whose tags were invalidated is a miss, to be put again by the caller holding the lock
+    if (value != null && (tagVersions == null || tagVersions.untag(value) != null)) {
       releaseLock(key);
+      return value;
     }
-    return value;
+    return null;
   }
 
   @Override
@@ -117,6 +126,13 @@ public class BlockingCache implements Cache {
     latch.countDown();
   }
 
+  /**
+   * @since 3.6.0
+   */
+  public void setTagVersions(CacheTagVersions tagVersions) {
+    this.tagVersions = tagVersions;
+  }
+
   public long getTimeout() {
     return timeout;
   }
@@ -0,0 +1,116 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.ThreadSafeCache;
+
+/**
+ * FIFO (first in, first out) cache decorator that does not lock on reads. Only one thread evicts at a time, the others
+ * do not wait for it.
+ *
+ * @since 3.6.0
+ */
+public class ConcurrentFifoCache implements ThreadSafeCache {
+
+  private final Cache delegate;
+  private final Set<Object> keys = ConcurrentHashMap.newKeySet();
+  private final Queue<Object> keyQueue = new ConcurrentLinkedQueue<>();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private volatile int size;
+
+  public ConcurrentFifoCache(Cache delegate) {
+    this.delegate = delegate;
+    this.size = 1024;
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public long getWeight() {
+    return delegate.getWeight();
+  }
+
+  public void setSize(int size) {
+    this.size = size;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    delegate.putObject(key, value);
+    if (keys.add(key)) {
+      keyQueue.offer(key);
+      if (keys.size() > size) {
+        evict();
+      }
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    return delegate.getObject(key);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    if (keys.remove(key)) {
+      keyQueue.remove(key);
+    }
+    return delegate.removeObject(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+    keys.clear();
+    keyQueue.clear();
+  }
+
+  private void evict() {
+    if (!evictionLock.tryLock()) {
+      return;
+    }
+    try {
+      while (keys.size() > size) {
+        Object oldestKey = keyQueue.poll();
+        if (oldestKey == null) {
+          return;
+        }
+        // a key removed in the meantime may still be queued
+        if (keys.remove(oldestKey)) {
+          delegate.removeObject(oldestKey);
+        }
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+}
@@ -0,0 +1,146 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.ThreadSafeCache;
+
+/**
+ * Approximate Lru (least recently used) cache decorator that does not lock on reads.
+ * <p>
+ * Keys are kept in insertion order together with a referenced flag that a read sets. Eviction follows the CLOCK
+ * algorithm: a referenced key gets a second chance and goes back to the end of the queue with its flag cleared, the
+ * first unreferenced key is evicted. Only one thread evicts at a time, the others do not wait for it.
+ *
+ * @since 3.6.0
+ */
+public class ConcurrentLruCache implements ThreadSafeCache {
+
+  private final Cache delegate;
+  private final Map<Object, Node> keyMap = new ConcurrentHashMap<>();
+  private final Queue<Node> keyQueue = new ConcurrentLinkedQueue<>();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private volatile int size;
+
+  public ConcurrentLruCache(Cache delegate) {
+    this.delegate = delegate;
+    this.size = 1024;
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public long getWeight() {
+    return delegate.getWeight();
+  }
+
+  public void setSize(int size) {
+    this.size = size;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    delegate.putObject(key, value);
+    Node node = keyMap.get(key);
+    if (node != null) {
+      node.referenced = true;
+      return;
+    }
+    node = new Node(key);
+    if (keyMap.putIfAbsent(key, node) == null) {
+      keyQueue.offer(node);
+      if (keyMap.size() > size) {
+        evict();
+      }
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Node node = keyMap.get(key);
+    // avoid writing to a shared cache line when the flag is already set
+    if (node != null && !node.referenced) {
+      node.referenced = true;
+    }
+    return delegate.getObject(key);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    Node node = keyMap.remove(key);
+    if (node != null) {
+      keyQueue.remove(node);
+    }
+    return delegate.removeObject(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+    keyMap.clear();
+    keyQueue.clear();
+  }
+
+  private void evict() {
+    if (!evictionLock.tryLock()) {
+      return;
+    }
+    try {
+      while (keyMap.size() > size) {
+        Node node = keyQueue.poll();
+        if (node == null) {
+          return;
+        }
+        if (keyMap.get(node.key) != node) {
+          // removed or replaced in the meantime
+          continue;
+        }
+        if (node.referenced) {
+          node.referenced = false;
+          keyQueue.offer(node);
+        } else if (keyMap.remove(node.key, node)) {
+          delegate.removeObject(node.key);
+        }
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private static final class Node {
+    private final Object key;
+    private volatile boolean referenced;
+
+    Node(Object key) {
+      this.key = key;
+    }
+  }
+
+}
@@ -0,0 +1,156 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.Cache;
+
+/**
+ * Per-entry expiration cache decorator.
+ * <p>
+ * Unlike {@link ScheduledCache}, which clears the whole cache at once, each entry expires on its own after
+ * {@code timeToLive} milliseconds since it was put and/or after {@code timeToIdle} milliseconds since it was last read.
+ * Expired entries are removed when they are read, and the oldest ones when new entries are put.
+ * <p>
+ * When {@code refreshAheadTime} is set, the first read of an entry that expires in less than that many milliseconds
+ * misses, so that its caller reloads the entry, while the other callers keep getting the current value until the entry
+ * is put again or expires. If it is not put again within half of {@code refreshAheadTime}, e.g. because the reload
+ * failed, the next read misses again.
+ * <p>
+ * This decorator should be below the eviction ones, which then remove the entries they evict from it as well.
+ *
+ * @since 3.6.0
+ */
+public class ExpiringCache implements Cache {
+
+  private final Cache delegate;
+  private Map<Object, Entry> entries;
+  private long timeToLive;
+  private long timeToIdle;
+  private long refreshAheadTime;
+
+  public ExpiringCache(Cache delegate) {
+    this.delegate = delegate;
+    this.entries = new LinkedHashMap<>();
+  }
+
+  public void setTimeToLive(long timeToLive) {
+    this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+  }
+
+  public void setTimeToIdle(long timeToIdle) {
+    this.timeToIdle = TimeUnit.MILLISECONDS.toNanos(timeToIdle);
+    // the oldest entries must be the least recently read ones
+    Map<Object, Entry> accessOrdered = new LinkedHashMap<>(16, 0.75f, timeToIdle > 0);
+    accessOrdered.putAll(entries);
+    entries = accessOrdered;
+  }
+
+  public void setRefreshAheadTime(long refreshAheadTime) {
+    this.refreshAheadTime = TimeUnit.MILLISECONDS.toNanos(refreshAheadTime);
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public long getWeight() {
+    return delegate.getWeight();
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    long now = System.nanoTime();
+    entries.remove(key);
+    entries.put(key, new Entry(now));
+    delegate.putObject(key, value);
+    removeExpiredEntries(now);
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return delegate.getObject(key);
+    }
+    long now = System.nanoTime();
+    if (isExpired(entry, now)) {
+      entries.remove(key);
+      delegate.removeObject(key);
+      return null;
+    }
+    if (refreshAheadTime > 0 && timeToLive > 0 && now - entry.putTime >= timeToLive - refreshAheadTime
+        && now - entry.refreshDeadline >= 0) {
+      entry.refreshDeadline = now + refreshAheadTime / 2;
+      return null;
+    }
+    entry.readTime = now;
+    return delegate.getObject(key);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    entries.remove(key);
+    return delegate.removeObject(key);
+  }
+
+  @Override
+  public void clear() {
+    entries.clear();
+    delegate.clear();
+  }
+
+  private boolean isExpired(Entry entry, long now) {
+    return (timeToLive > 0 && now - entry.putTime >= timeToLive)
+        || (timeToIdle > 0 && now - entry.readTime >= timeToIdle);
+  }
+
+  private void removeExpiredEntries(long now) {
+    Iterator<Map.Entry<Object, Entry>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Object, Entry> eldest = iterator.next();
+      if (!isExpired(eldest.getValue(), now)) {
+        break;
+      }
+      iterator.remove();
+      delegate.removeObject(eldest.getKey());
+    }
+  }
+
+  private static final class Entry {
+    private final long putTime;
+    private long readTime;
+    private long refreshDeadline;
+
+    Entry(long now) {
+      this.putTime = now;
+      this.readTime = now;
+      this.refreshDeadline = now;
+    }
+  }
+
+}
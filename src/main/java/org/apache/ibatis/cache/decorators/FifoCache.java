@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -47,6 +47,11 @@ public class FifoCache implements Cache {
     return delegate.getSize();
   }
 
+  @Override
+  public long getWeight() {
+    return delegate.getWeight();
+  }
+
   public void setSize(int size) {
     this.size = size;
   }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -44,6 +44,11 @@ public class LoggingCache implements Cache {
     return delegate.getSize();
   }
 
+  @Override
+  public long getWeight() {
+    return delegate.getWeight();
+  }
+
   @Override
   public void putObject(Object key, Object object) {
     delegate.putObject(key, object);
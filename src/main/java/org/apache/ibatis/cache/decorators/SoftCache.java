@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -55,6 +55,12 @@ public class SoftCache implements Cache {
     return delegate.getSize();
   }
 
+  @Override
+  public long getWeight() {
+    removeGarbageCollectedItems();
+    return delegate.getWeight();
+  }
+
   public void setSize(int size) {
     this.numberOfHardLinks = size;
   }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -46,6 +46,16 @@ public class SynchronizedCache implements Cache {
     }
   }
 
+  @Override
+  public long getWeight() {
+    lock.lock();
+    try {
+      return delegate.getWeight();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public void putObject(Object key, Object object) {
     lock.lock();
@@ -0,0 +1,414 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.DefaultWeigher;
+import org.apache.ibatis.cache.ThreadSafeCache;
+import org.apache.ibatis.cache.Weigher;
+import org.apache.ibatis.io.Resources;
+
+/**
+ * Frequency aware cache decorator following the W-TinyLFU policy.
+ * <p>
+ * New entries enter a small LRU window. An entry leaving the window is only admitted into the main segmented LRU if it
+ * has been requested more often than the entry it would replace, as estimated by a count-min sketch. One-off lookups
+ * such as those of a large report query therefore do not evict the frequently used entries.
+ * <p>
+ * The cache is bounded by its number of entries and, if a maximum weight is set, by the total weight of its entries as
+ * estimated by a {@link Weigher}. Reads do not wait for the policy lock; a read that finds it held is not recorded.
+ *
+ * @since 3.6.0
+ */
+public class TinyLfuCache implements ThreadSafeCache {
+
+  private static final int WINDOW = 0;
+  private static final int PROBATION = 1;
+  private static final int PROTECTED = 2;
+
+  private final Cache delegate;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Object, Node> data = new HashMap<>();
+  private final NodeList window = new NodeList();
+  private final NodeList probation = new NodeList();
+  private final NodeList protectedList = new NodeList();
+  private Weigher weigher = new DefaultWeigher();
+  private FrequencySketch sketch;
+  private int size;
+  private long maxWeight;
+  private long totalWeight;
+  private long windowMaximum;
+  private long mainMaximum;
+  private long protectedMaximum;
+
+  public TinyLfuCache(Cache delegate) {
+    this.delegate = delegate;
+    setSize(1024);
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  public void setSize(int size) {
+    lock.lock();
+    try {
+      this.size = size;
+      this.sketch = new FrequencySketch(size);
+      resize();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Sets the maximum total weight of the cached entries.
+   *
+   * @param maxWeight
+   *          the maximum weight, or 0 to bound the cache by its number of entries only
+   */
+  public void setMaxWeight(long maxWeight) {
+    lock.lock();
+    try {
+      this.maxWeight = maxWeight;
+      resize();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public void setWeigher(Weigher weigher) {
+    this.weigher = weigher;
+  }
+
+  public void setWeigherClass(String className) {
+    try {
+      setWeigher((Weigher) Resources.classForName(className).getDeclaredConstructor().newInstance());
+    } catch (Exception e) {
+      throw new CacheException("Could not instantiate weigher (" + className + "). Cause: " + e, e);
+    }
+  }
+
+  /**
+   * Returns the total weight of the cached entries, which is their number when no maximum weight is set.
+   *
+   * @return the total weight
+   */
+  @Override
+  public long getWeight() {
+    lock.lock();
+    try {
+      return totalWeight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    lock.lock();
+    try {
+      delegate.putObject(key, value);
+      sketch.increment(key);
+      int weight = maxWeight > 0 ? weigher.weigh(key, value) : 1;
+      Node node = data.get(key);
+      if (node == null) {
+        node = new Node(key, weight);
+        data.put(key, node);
+        window.add(node);
+        totalWeight += weight;
+      } else {
+        listOf(node).weight += weight - node.weight;
+        totalWeight += weight - node.weight;
+        node.weight = weight;
+        onAccess(node);
+      }
+      evict();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Object value = delegate.getObject(key);
+    if (lock.tryLock()) {
+      try {
+        sketch.increment(key);
+        Node node = data.get(key);
+        if (node != null) {
+          onAccess(node);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    lock.lock();
+    try {
+      Node node = data.remove(key);
+      if (node != null) {
+        listOf(node).remove(node);
+        totalWeight -= node.weight;
+      }
+      return delegate.removeObject(key);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    lock.lock();
+    try {
+      delegate.clear();
+      data.clear();
+      window.clear();
+      probation.clear();
+      protectedList.clear();
+      totalWeight = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void resize() {
+    long maximum = maxWeight > 0 ? maxWeight : size;
+    windowMaximum = Math.max(1, maximum / 100);
+    mainMaximum = Math.max(0, maximum - windowMaximum);
+    protectedMaximum = mainMaximum * 8 / 10;
+    evict();
+  }
+
+  private NodeList listOf(Node node) {
+    switch (node.queue) {
+      case PROBATION:
+        return probation;
+      case PROTECTED:
+        return protectedList;
+      default:
+        return window;
+    }
+  }
+
+  private void onAccess(Node node) {
+    if (node.queue == PROBATION) {
+      probation.remove(node);
+      node.queue = PROTECTED;
+      protectedList.add(node);
+      while (protectedList.weight > protectedMaximum && protectedList.head != node) {
+        Node demoted = protectedList.head;
+        protectedList.remove(demoted);
+        demoted.queue = PROBATION;
+        probation.add(demoted);
+      }
+    } else {
+      listOf(node).moveToTail(node);
+    }
+  }
+
+  private void evict() {
+    while (window.weight > windowMaximum) {
+      Node candidate = window.head;
+      window.remove(candidate);
+      admit(candidate);
+    }
+    long maximum = maxWeight > 0 ? maxWeight : size;
+    while (totalWeight > maximum || data.size() > size) {
+      Node victim = probation.head != null ? probation.head
+          : protectedList.head != null ? protectedList.head : window.head;
+      if (victim == null) {
+        return;
+      }
+      evictNode(victim);
+    }
+  }
+
+  private void admit(Node candidate) {
+    int candidateFrequency = sketch.frequency(candidate.key);
+    while (probation.weight + protectedList.weight + candidate.weight > mainMaximum) {
+      Node victim = probation.head != null ? probation.head : protectedList.head;
+      if (victim == null) {
+        break;
+      }
+      if (candidateFrequency <= sketch.frequency(victim.key)) {
+        totalWeight -= candidate.weight;
+        data.remove(candidate.key);
+        delegate.removeObject(candidate.key);
+        return;
+      }
+      evictNode(victim);
+    }
+    candidate.queue = PROBATION;
+    probation.add(candidate);
+  }
+
+  private void evictNode(Node node) {
+    listOf(node).remove(node);
+    totalWeight -= node.weight;
+    data.remove(node.key);
+    delegate.removeObject(node.key);
+  }
+
+  private static final class Node {
+    private final Object key;
+    private int weight;
+    private int queue = WINDOW;
+    private Node prev;
+    private Node next;
+
+    Node(Object key, int weight) {
+      this.key = key;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * A doubly linked list in access order, least recently used first, keeping the total weight of its nodes.
+   */
+  private static final class NodeList {
+    private Node head;
+    private Node tail;
+    private long weight;
+
+    void add(Node node) {
+      node.prev = tail;
+      node.next = null;
+      if (tail == null) {
+        head = node;
+      } else {
+        tail.next = node;
+      }
+      tail = node;
+      weight += node.weight;
+    }
+
+    void remove(Node node) {
+      if (node.prev == null) {
+        head = node.next;
+      } else {
+        node.prev.next = node.next;
+      }
+      if (node.next == null) {
+        tail = node.prev;
+      } else {
+        node.next.prev = node.prev;
+      }
+      node.prev = null;
+      node.next = null;
+      weight -= node.weight;
+    }
+
+    void moveToTail(Node node) {
+      if (node != tail) {
+        remove(node);
+        add(node);
+      }
+    }
+
+    void clear() {
+      head = null;
+      tail = null;
+      weight = 0;
+    }
+  }
+
+  /**
+   * A count-min sketch of 4-bit counters estimating how often each key was requested. All counters are halved once the
+   * number of recorded requests reaches ten times the cache size, so that old popularity fades away.
+   */
+  private static final class FrequencySketch {
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+        0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+      int capacity = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 24)) - 1) << 1;
+      this.table = new long[capacity];
+      this.tableMask = capacity - 1;
+      this.sampleSize = 10 * Math.max(16, maximumSize);
+    }
+
+    int frequency(Object key) {
+      int hash = spread(key.hashCode());
+      int start = (hash & 3) << 2;
+      int frequency = Integer.MAX_VALUE;
+      for (int i = 0; i < 4; i++) {
+        int offset = (start + i) << 2;
+        int count = (int) ((table[indexOf(hash, i)] >>> offset) & 0xfL);
+        frequency = Math.min(frequency, count);
+      }
+      return frequency;
+    }
+
+    void increment(Object key) {
+      int hash = spread(key.hashCode());
+      int start = (hash & 3) << 2;
+      boolean added = false;
+      for (int i = 0; i < 4; i++) {
+        int index = indexOf(hash, i);
+        int offset = (start + i) << 2;
+        if (((table[index] >>> offset) & 0xfL) != 0xfL) {
+          table[index] += 1L << offset;
+          added = true;
+        }
+      }
+      if (added && ++additions == sampleSize) {
+        for (int i = 0; i < table.length; i++) {
+          table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+      }
+    }
+
+    private int indexOf(int hash, int i) {
+      long h = (hash + SEEDS[i]) * SEEDS[i];
+      h += h >>> 32;
+      return (int) h & tableMask;
+    }
+
+    private static int spread(int x) {
+      x = ((x >>> 16) ^ x) * 0x45d9f3b;
+      x = ((x >>> 16) ^ x) * 0x45d9f3b;
+      return (x >>> 16) ^ x;
+    }
+  }
+
+}
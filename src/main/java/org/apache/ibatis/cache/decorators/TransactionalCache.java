@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2025 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,12 +15,14 @@
  */
 package org.apache.ibatis.cache.decorators;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheTagVersions;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 
@@ -43,12 +45,15 @@ public class TransactionalCache implements Cache {
   private boolean clearOnCommit;
   private final Map<Object, Object> entriesToAddOnCommit;
   private final Set<Object> entriesMissedInCache;
+  private final Set<String> tagsToInvalidateOnCommit;
+  private CacheTagVersions tagVersions;
 
   public TransactionalCache(Cache delegate) {
     this.delegate = delegate;
     this.clearOnCommit = false;
     this.entriesToAddOnCommit = new HashMap<>();
     this.entriesMissedInCache = new HashSet<>();
+    this.tagsToInvalidateOnCommit = new HashSet<>();
   }
 
   @Override
@@ -61,6 +66,45 @@ public class TransactionalCache implements Cache {
     return delegate.getSize();
   }
 
+  @Override
+  public long getWeight() {
+    return delegate.getWeight();
+  }
+
+  /**
+   * @return true if this transaction has cleared the cache, which is then bypassed until commit or rollback
+   *
+   * @since 3.6.0
+   */
+  public boolean isClearOnCommit() {
+    return clearOnCommit;
+  }
+
+  /**
+   * @return true if this transaction has invalidated tags, whose cached results are then bypassed until commit or
+   *         rollback
+   *
+   * @since 3.6.0
+   */
+  public boolean isInvalidatingTags() {
+    return !tagsToInvalidateOnCommit.isEmpty();
+  }
+
+  /**
+   * Invalidates the cached results of the given tags on commit.
+   *
+   * @param tagVersions
+   *          the tag versions of the cache
+   * @param tags
+   *          the tags
+   *
+   * @since 3.6.0
+   */
+  public void invalidateTags(CacheTagVersions tagVersions, Collection<String> tags) {
+    this.tagVersions = tagVersions;
+    tagsToInvalidateOnCommit.addAll(tags);
+  }
+
   @Override
   public Object getObject(Object key) {
     // issue #116
@@ -72,9 +116,26 @@ public class TransactionalCache implements Cache {
     if (clearOnCommit) {
       return null;
     }
+    if (hasInvalidatedTag(object)) {
+      return null;
+    }
     return object;
   }
 
+  private boolean hasInvalidatedTag(Object object) {
+    if (!tagsToInvalidateOnCommit.isEmpty()) {
+      String[] tags = CacheTagVersions.getTags(object);
+      if (tags != null) {
+        for (String tag : tags) {
+          if (tagsToInvalidateOnCommit.contains(tag)) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
   @Override
   public void putObject(Object key, Object object) {
     entriesToAddOnCommit.put(key, object);
@@ -96,6 +157,9 @@ public class TransactionalCache implements Cache {
       delegate.clear();
     }
     flushPendingEntries();
+    if (!tagsToInvalidateOnCommit.isEmpty()) {
+      tagVersions.invalidate(tagsToInvalidateOnCommit);
+    }
     reset();
   }
 
@@ -108,11 +172,17 @@ public class TransactionalCache implements Cache {
     clearOnCommit = false;
     entriesToAddOnCommit.clear();
     entriesMissedInCache.clear();
+    tagsToInvalidateOnCommit.clear();
   }
 
   private void flushPendingEntries() {
     for (Map.Entry<Object, Object> entry : entriesToAddOnCommit.entrySet()) {
-      delegate.putObject(entry.getKey(), entry.getValue());
+      // a result read after its tags were invalidated would be stale once they are, and is dropped
+      if (!hasInvalidatedTag(entry.getValue())) {
+        delegate.putObject(entry.getKey(), entry.getValue());
+      } else if (entriesMissedInCache.contains(entry.getKey())) {
+        delegate.putObject(entry.getKey(), null);
+      }
     }
     for (Object entry : entriesMissedInCache) {
       if (!entriesToAddOnCommit.containsKey(entry)) {
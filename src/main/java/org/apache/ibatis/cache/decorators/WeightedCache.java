@@ -0,0 +1,132 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.DefaultWeigher;
+import org.apache.ibatis.cache.Weigher;
+import org.apache.ibatis.io.Resources;
+
+/**
+ * Lru (least recently used) cache decorator bounded by the total weight of its entries as well as by their number.
+ *
+ * @since 3.6.0
+ *
+ * @see Weigher
+ */
+public class WeightedCache implements Cache {
+
+  private final Cache delegate;
+  private final Map<Object, Integer> keyMap = new LinkedHashMap<>(16, .75F, true);
+  private Weigher weigher = new DefaultWeigher();
+  private int size;
+  private long maxWeight;
+  private long totalWeight;
+
+  public WeightedCache(Cache delegate) {
+    this.delegate = delegate;
+    this.size = 1024;
+    this.maxWeight = 1024 * 1024;
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public long getWeight() {
+    return totalWeight;
+  }
+
+  public void setSize(int size) {
+    this.size = size;
+    evict();
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public void setMaxWeight(long maxWeight) {
+    this.maxWeight = maxWeight;
+    evict();
+  }
+
+  public void setWeigher(Weigher weigher) {
+    this.weigher = weigher;
+  }
+
+  public void setWeigherClass(String className) {
+    try {
+      setWeigher((Weigher) Resources.classForName(className).getDeclaredConstructor().newInstance());
+    } catch (Exception e) {
+      throw new CacheException("Could not instantiate weigher (" + className + "). Cause: " + e, e);
+    }
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    delegate.putObject(key, value);
+    int weight = weigher.weigh(key, value);
+    Integer previous = keyMap.put(key, weight);
+    totalWeight += previous == null ? weight : weight - previous;
+    evict();
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    keyMap.get(key); // touch
+    return delegate.getObject(key);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    Integer weight = keyMap.remove(key);
+    if (weight != null) {
+      totalWeight -= weight;
+    }
+    return delegate.removeObject(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+    keyMap.clear();
+    totalWeight = 0;
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<Object, Integer>> iterator = keyMap.entrySet().iterator();
+    while ((totalWeight > maxWeight || keyMap.size() > size) && iterator.hasNext()) {
+      Map.Entry<Object, Integer> eldest = iterator.next();
+      iterator.remove();
+      totalWeight -= eldest.getValue();
+      delegate.removeObject(eldest.getKey());
+    }
+  }
+
+}
@@ -0,0 +1,345 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.impl;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheSerializer;
+import org.apache.ibatis.cache.ThreadSafeCache;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
+
+/**
+ * Cache that keeps serialized values outside the Java heap, so that large caches do not add to garbage collection
+ * pauses. Only the keys and a small index stay on the heap.
+ * <p>
+ * The storage is split into slabs of direct memory, or of a memory-mapped file if one is set. Values are appended to
+ * the current slab; when it is full, writing moves on to the next slab and everything stored there is evicted. Every
+ * lookup returns a new copy of the value, as a read-write cache does.
+ *
+ * @since 3.6.0
+ */
+public class OffHeapCache implements ThreadSafeCache {
+
+  private final String id;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Object, Location> index = new HashMap<>();
+  private long capacity = 64L * 1024 * 1024;
+  private int slabSize = 4 * 1024 * 1024;
+  private String file;
+  private CacheSerializer serializer = new JavaCacheSerializer();
+  private Slab[] slabs;
+  private int current;
+  private long usedBytes;
+
+  public OffHeapCache(String id) {
+    this.id = id;
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  public long getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Sets the number of bytes available for serialized values.
+   *
+   * @param capacity
+   *          the capacity in bytes
+   */
+  public void setCapacity(long capacity) {
+    lock.lock();
+    try {
+      this.capacity = capacity;
+      release();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getSlabSize() {
+    return slabSize;
+  }
+
+  /**
+   * Sets the size of the slabs the capacity is split into, which is also the size of the largest value that can be
+   * cached. Smaller slabs evict fewer values at a time.
+   *
+   * @param slabSize
+   *          the slab size in bytes
+   */
+  public void setSlabSize(int slabSize) {
+    lock.lock();
+    try {
+      this.slabSize = slabSize;
+      release();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public String getFile() {
+    return file;
+  }
+
+  /**
+   * Sets a file to memory-map the slabs from instead of allocating direct memory. Its content does not survive a
+   * restart.
+   *
+   * @param file
+   *          the file path
+   */
+  public void setFile(String file) {
+    lock.lock();
+    try {
+      this.file = file;
+      release();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Sets the serializer from its name, as accepted by {@link CacheSerializer#forName(String)}.
+   *
+   * @param serializer
+   *          the serializer name
+   */
+  public void setSerializer(String serializer) {
+    lock.lock();
+    try {
+      this.serializer = CacheSerializer.forName(serializer);
+      release();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int getSize() {
+    lock.lock();
+    try {
+      return index.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of bytes used by the serialized values
+   */
+  @Override
+  public long getWeight() {
+    lock.lock();
+    try {
+      return usedBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    if (value == null) {
+      removeObject(key);
+      return;
+    }
+    if (!(value instanceof Serializable)) {
+      throw new CacheException("OffHeapCache failed to store a non-serializable object: " + value);
+    }
+    byte[] bytes = serializer.serialize((Serializable) value);
+    lock.lock();
+    try {
+      if (slabs == null) {
+        slabs = allocateSlabs();
+      }
+      removeLocation(index.remove(key));
+      Slab slab = slabs[current];
+      if (bytes.length > slab.buffer.capacity()) {
+        return;
+      }
+      if (slab.position + bytes.length > slab.buffer.capacity()) {
+        current = (current + 1) % slabs.length;
+        slab = slabs[current];
+        recycle(slab);
+      }
+      slab.buffer.position(slab.position);
+      slab.buffer.put(bytes);
+      index.put(key, new Location(slab, slab.position, bytes.length));
+      slab.keys.add(key);
+      slab.position += bytes.length;
+      usedBytes += bytes.length;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    byte[] bytes;
+    CacheSerializer reader;
+    lock.lock();
+    try {
+      reader = serializer;
+      Location location = index.get(key);
+      if (location == null) {
+        return null;
+      }
+      bytes = new byte[location.length];
+      location.slab.buffer.position(location.offset);
+      location.slab.buffer.get(bytes);
+    } finally {
+      lock.unlock();
+    }
+    return reader.deserialize(bytes);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    lock.lock();
+    try {
+      removeLocation(index.remove(key));
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    lock.lock();
+    try {
+      index.clear();
+      if (slabs != null) {
+        for (Slab slab : slabs) {
+          slab.keys.clear();
+          slab.position = 0;
+        }
+      }
+      current = 0;
+      usedBytes = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release() {
+    index.clear();
+    slabs = null;
+    current = 0;
+    usedBytes = 0;
+  }
+
+  private void removeLocation(Location location) {
+    if (location != null) {
+      usedBytes -= location.length;
+    }
+  }
+
+  private void recycle(Slab slab) {
+    for (Object key : slab.keys) {
+      Location location = index.get(key);
+      if (location != null && location.slab == slab) {
+        index.remove(key);
+        usedBytes -= location.length;
+      }
+    }
+    slab.keys.clear();
+    slab.position = 0;
+  }
+
+  private Slab[] allocateSlabs() {
+    int size = (int) Math.min(slabSize, capacity);
+    Slab[] allocated = new Slab[(int) Math.max(1, capacity / size)];
+    if (file == null) {
+      for (int i = 0; i < allocated.length; i++) {
+        allocated[i] = new Slab(ByteBuffer.allocateDirect(size));
+      }
+      return allocated;
+    }
+    try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      for (int i = 0; i < allocated.length; i++) {
+        allocated[i] = new Slab(channel.map(FileChannel.MapMode.READ_WRITE, (long) i * size, size));
+      }
+      return allocated;
+    } catch (IOException e) {
+      throw new CacheException("Error mapping cache file '" + file + "'.  Cause: " + e, e);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Cache)) {
+      return false;
+    }
+
+    Cache otherCache = (Cache) o;
+    return getId().equals(otherCache.getId());
+  }
+
+  @Override
+  public int hashCode() {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    return getId().hashCode();
+  }
+
+  private static final class Slab {
+    private final ByteBuffer buffer;
+    private final List<Object> keys = new ArrayList<>();
+    private int position;
+
+    Slab(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+  }
+
+  private static final class Location {
+    private final Slab slab;
+    private final int offset;
+    private final int length;
+
+    Location(Slab slab, int offset, int length) {
+      this.slab = slab;
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+
+}
@@ -0,0 +1,183 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheSerializer;
+import org.apache.ibatis.cache.decorators.SerializedCache.CustomObjectInputStream;
+import org.apache.ibatis.io.SerialFilterChecker;
+
+/**
+ * Java serialization that writes the description of each class once per serializer instead of once per value.
+ * <p>
+ * Class descriptions are registered by the serializer and values only refer to them by number, so values are smaller
+ * and faster to read and write, but can only be read by the serializer that wrote them. Values are written into a
+ * reusable per-thread buffer.
+ *
+ * @since 3.6.0
+ */
+public class CompactCacheSerializer implements CacheSerializer {
+
+  private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+  private static final ThreadLocal<Buffer> buffers = new ThreadLocal<>();
+
+  private final Map<ObjectStreamClass, Integer> descriptorIds = new ConcurrentHashMap<>();
+  private final List<ObjectStreamClass> descriptors = new CopyOnWriteArrayList<>();
+
+  @Override
+  public byte[] serialize(Serializable value) {
+    Buffer buffer = buffers.get();
+    if (buffer == null || buffer.inUse) {
+      buffer = new Buffer();
+      buffers.set(buffer);
+    }
+    buffer.inUse = true;
+    try (ObjectOutputStream oos = new DescriptorOutputStream(buffer)) {
+      oos.writeObject(value);
+      oos.flush();
+      return buffer.toByteArray();
+    } catch (Exception e) {
+      throw new CacheException("Error serializing object.  Cause: " + e, e);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  @Override
+  public Serializable deserialize(byte[] bytes) {
+    SerialFilterChecker.check();
+    Serializable result;
+    try (ObjectInputStream ois = new DescriptorInputStream(new ByteArrayInputStream(bytes))) {
+      result = (Serializable) ois.readObject();
+    } catch (Exception e) {
+      throw new CacheException("Error deserializing object.  Cause: " + e, e);
+    }
+    return result;
+  }
+
+  private int register(ObjectStreamClass descriptor) {
+    Integer id = descriptorIds.get(descriptor);
+    if (id == null) {
+      synchronized (descriptors) {
+        id = descriptorIds.get(descriptor);
+        if (id == null) {
+          id = descriptors.size();
+          descriptors.add(descriptor);
+          descriptorIds.put(descriptor, id);
+        }
+      }
+    }
+    return id;
+  }
+
+  private class DescriptorOutputStream extends ObjectOutputStream {
+
+    DescriptorOutputStream(OutputStream out) throws IOException {
+      super(out);
+    }
+
+    @Override
+    protected void writeStreamHeader() {
+      // the bytes never leave this serializer
+    }
+
+    @Override
+    protected void writeClassDescriptor(ObjectStreamClass descriptor) throws IOException {
+      writeInt(register(descriptor));
+    }
+
+  }
+
+  private class DescriptorInputStream extends CustomObjectInputStream {
+
+    DescriptorInputStream(InputStream in) throws IOException {
+      super(in);
+    }
+
+    @Override
+    protected void readStreamHeader() {
+      // see DescriptorOutputStream
+    }
+
+    @Override
+    protected ObjectStreamClass readClassDescriptor() throws IOException {
+      int id = readInt();
+      if (id < 0 || id >= descriptors.size()) {
+        throw new InvalidClassException("Unknown class descriptor " + id);
+      }
+      return descriptors.get(id);
+    }
+
+  }
+
+  /**
+   * An unsynchronized growable byte array.
+   */
+  private static final class Buffer extends OutputStream {
+
+    private byte[] bytes = new byte[1024];
+    private int count;
+    private boolean inUse;
+
+    @Override
+    public void write(int b) {
+      ensureCapacity(count + 1);
+      bytes[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      ensureCapacity(count + len);
+      System.arraycopy(b, off, bytes, count, len);
+      count += len;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(bytes, count);
+    }
+
+    void release() {
+      count = 0;
+      inUse = false;
+      if (bytes.length > MAX_POOLED_BUFFER_SIZE) {
+        bytes = new byte[1024];
+      }
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length << 1));
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,234 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A lock-free container for the connections of a {@link PooledDataSource} running in concurrent hand-off mode.
+ * <p>
+ * A connection is looked up first in a thread-local reference to the last connection returned by the calling thread,
+ * then by scanning the shared list of all connections. Threads that find nothing may wait, in which case returning
+ * threads hand their connection over directly instead of publishing it.
+ */
+final class ConnectionBag {
+
+  static final int STATE_NOT_IN_USE = 0;
+  static final int STATE_IN_USE = 1;
+  static final int STATE_RESERVED = -1;
+  static final int STATE_REMOVED = -2;
+
+  private final List<Entry> sharedList = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<Entry> lastReturned = new ThreadLocal<>();
+  private final SynchronousQueue<Entry> handOffQueue = new SynchronousQueue<>(true);
+  private final AtomicInteger waiters = new AtomicInteger();
+  private final AtomicInteger totalConnections = new AtomicInteger();
+
+  /**
+   * Claims an idle connection without blocking.
+   *
+   * @return the claimed entry in {@link #STATE_IN_USE} state, or null if no connection is idle
+   */
+  Entry borrow() {
+    Entry entry = lastReturned.get();
+    if (entry != null) {
+      lastReturned.remove();
+      if (entry.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+        return entry;
+      }
+    }
+    for (Entry candidate : sharedList) {
+      if (candidate.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+        return candidate;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Waits for a connection to become idle or to be handed over by a returning thread.
+   *
+   * @param timeout
+   *          the maximum time to wait
+   * @param unit
+   *          the time unit of the timeout
+   *
+   * @return the claimed entry in {@link #STATE_IN_USE} state, or null if the timeout elapsed
+   *
+   * @throws InterruptedException
+   *           if the calling thread was interrupted while waiting
+   */
+  Entry await(long timeout, TimeUnit unit) throws InterruptedException {
+    waiters.incrementAndGet();
+    try {
+      long remaining = unit.toNanos(timeout);
+      final long deadline = System.nanoTime() + remaining;
+      do {
+        Entry entry = borrow();
+        if (entry != null) {
+          return entry;
+        }
+        entry = handOffQueue.poll(remaining, TimeUnit.NANOSECONDS);
+        if (entry != null && entry.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+          return entry;
+        }
+        remaining = deadline - System.nanoTime();
+      } while (remaining > 0);
+      return null;
+    } finally {
+      waiters.decrementAndGet();
+    }
+  }
+
+  /**
+   * Makes a connection idle again, handing it directly to a waiting thread if there is one.
+   *
+   * @param entry
+   *          the entry to return, owned by the calling thread
+   */
+  void requite(Entry entry) {
+    entry.setState(STATE_NOT_IN_USE);
+    for (int i = 0; waiters.get() > 0; i++) {
+      if (entry.getState() != STATE_NOT_IN_USE || handOffQueue.offer(entry)) {
+        return;
+      }
+      if ((i & 0xff) == 0xff) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+      } else {
+        Thread.yield();
+      }
+    }
+    lastReturned.set(entry);
+  }
+
+  /**
+   * Reserves room for a new connection if the bag holds less than the given number of connections.
+   *
+   * @param maximumConnections
+   *          the maximum number of connections
+   *
+   * @return true if the caller may open a connection and must either {@link #add} it or {@link #cancelReservation()}
+   */
+  boolean reserve(int maximumConnections) {
+    while (true) {
+      int total = totalConnections.get();
+      if (total >= maximumConnections) {
+        return false;
+      }
+      if (totalConnections.compareAndSet(total, total + 1)) {
+        return true;
+      }
+    }
+  }
+
+  void cancelReservation() {
+    totalConnections.decrementAndGet();
+  }
+
+  /**
+   * Adds a newly opened connection for which room was {@link #reserve reserved}.
+   *
+   * @param connection
+   *          the connection
+   * @param state
+   *          the initial state of the entry
+   *
+   * @return the new entry
+   */
+  Entry add(PooledConnection connection, int state) {
+    Entry entry = new Entry(connection, state);
+    sharedList.add(entry);
+    return entry;
+  }
+
+  /**
+   * Removes an entry from the bag.
+   *
+   * @param entry
+   *          the entry
+   *
+   * @return true if this call removed the entry
+   */
+  boolean remove(Entry entry) {
+    if (entry.getAndSetState(STATE_REMOVED) == STATE_REMOVED) {
+      return false;
+    }
+    sharedList.remove(entry);
+    totalConnections.decrementAndGet();
+    return true;
+  }
+
+  List<Entry> values() {
+    return sharedList;
+  }
+
+  int getCount(int state) {
+    int count = 0;
+    for (Entry entry : sharedList) {
+      if (entry.getState() == state) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  int getWaitingThreadCount() {
+    return waiters.get();
+  }
+
+  static final class Entry {
+
+    private final AtomicInteger state;
+    private volatile PooledConnection connection;
+
+    Entry(PooledConnection connection, int state) {
+      this.state = new AtomicInteger(state);
+      setConnection(connection);
+    }
+
+    PooledConnection getConnection() {
+      return connection;
+    }
+
+    void setConnection(PooledConnection connection) {
+      connection.setBagEntry(this);
+      this.connection = connection;
+    }
+
+    int getState() {
+      return state.get();
+    }
+
+    void setState(int state) {
+      this.state.set(state);
+    }
+
+    int getAndSetState(int state) {
+      return this.state.getAndSet(state);
+    }
+
+    boolean compareAndSet(int expect, int update) {
+      return state.compareAndSet(expect, update);
+    }
+
+  }
+
+}
@@ -0,0 +1,113 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the timings of a {@link PooledDataSource} into {@link LatencyHistogram}s, in microseconds.
+ * <p>
+ * <b>Use example:</b>
+ *
+ * <pre>
+ * HistogramPoolMetricsListener metrics = new HistogramPoolMetricsListener();
+ * pooledDataSource.setPoolMetricsListener(metrics);
+ * // ...
+ * long p99WaitMicros = metrics.getWaitTime().getValueAtPercentile(99);
+ * </pre>
+ *
+ * @since 3.6.0
+ */
+public class HistogramPoolMetricsListener implements PoolMetricsListener {
+
+  private final LatencyHistogram waitTime = new LatencyHistogram();
+  private final LatencyHistogram usageTime = new LatencyHistogram();
+  private final LatencyHistogram creationTime = new LatencyHistogram();
+  private final LatencyHistogram timeoutWaitTime = new LatencyHistogram();
+
+  @Override
+  public void connectionAcquired(long waitNanos) {
+    waitTime.record(TimeUnit.NANOSECONDS.toMicros(waitNanos));
+  }
+
+  @Override
+  public void connectionReleased(long usageNanos) {
+    usageTime.record(TimeUnit.NANOSECONDS.toMicros(usageNanos));
+  }
+
+  @Override
+  public void connectionCreated(long creationNanos) {
+    creationTime.record(TimeUnit.NANOSECONDS.toMicros(creationNanos));
+  }
+
+  @Override
+  public void connectionTimedOut(long waitNanos) {
+    timeoutWaitTime.record(TimeUnit.NANOSECONDS.toMicros(waitNanos));
+  }
+
+  /**
+   * Gets the time from requesting a connection to getting it.
+   *
+   * @return the histogram in microseconds
+   */
+  public LatencyHistogram getWaitTime() {
+    return waitTime;
+  }
+
+  /**
+   * Gets the time connections were checked out.
+   *
+   * @return the histogram in microseconds
+   */
+  public LatencyHistogram getUsageTime() {
+    return usageTime;
+  }
+
+  /**
+   * Gets the time it took to open physical connections.
+   *
+   * @return the histogram in microseconds
+   */
+  public LatencyHistogram getCreationTime() {
+    return creationTime;
+  }
+
+  /**
+   * Gets the waits that ended without a connection, the count is the number of timeouts.
+   *
+   * @return the histogram in microseconds
+   */
+  public LatencyHistogram getTimeoutWaitTime() {
+    return timeoutWaitTime;
+  }
+
+  /**
+   * Discards all recorded timings.
+   */
+  public void reset() {
+    waitTime.reset();
+    usageTime.reset();
+    creationTime.reset();
+    timeoutWaitTime.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "waitTime[" + waitTime + "], usageTime[" + usageTime + "], creationTime[" + creationTime + "], timeouts["
+        + timeoutWaitTime + "]";
+  }
+
+}
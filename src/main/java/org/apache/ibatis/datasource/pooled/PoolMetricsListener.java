@@ -0,0 +1,74 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+/**
+ * Receives timings from a {@link PooledDataSource}. Methods are called on the thread that checks out or returns a
+ * connection, so implementations must be thread-safe and cheap.
+ *
+ * @since 3.6.0
+ *
+ * @see HistogramPoolMetricsListener
+ */
+public interface PoolMetricsListener {
+
+  /**
+   * A listener that ignores everything, used when no listener is set.
+   */
+  PoolMetricsListener NOOP = new PoolMetricsListener() {
+  };
+
+  /**
+   * Called when a connection has been checked out.
+   *
+   * @param waitNanos
+   *          the time from the request to the checkout, including validation and any wait for a connection
+   */
+  default void connectionAcquired(long waitNanos) {
+    // NOP
+  }
+
+  /**
+   * Called when a connection has been returned to the pool.
+   *
+   * @param usageNanos
+   *          the time the connection was checked out
+   */
+  default void connectionReleased(long usageNanos) {
+    // NOP
+  }
+
+  /**
+   * Called when a physical connection has been opened.
+   *
+   * @param creationNanos
+   *          the time it took to open the connection
+   */
+  default void connectionCreated(long creationNanos) {
+    // NOP
+  }
+
+  /**
+   * Called when a thread waited the whole {@code poolTimeToWait} without getting a connection.
+   *
+   * @param waitNanos
+   *          the time the thread waited
+   */
+  default void connectionTimedOut(long waitNanos) {
+    // NOP
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package org.apache.ibatis.datasource.pooled;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -33,16 +34,30 @@ public class PoolState {
 
   protected PooledDataSource dataSource;
 
+  // The counters are updated atomically through these updaters when the pool runs in concurrent hand-off mode
+  // and therefore does not hold its lock.
+  static final AtomicLongFieldUpdater<PoolState> REQUEST_COUNT = newUpdater("requestCount");
+  static final AtomicLongFieldUpdater<PoolState> ACCUMULATED_REQUEST_TIME = newUpdater("accumulatedRequestTime");
+  static final AtomicLongFieldUpdater<PoolState> ACCUMULATED_CHECKOUT_TIME = newUpdater("accumulatedCheckoutTime");
+  static final AtomicLongFieldUpdater<PoolState> CLAIMED_OVERDUE_CONNECTION_COUNT = newUpdater(
+      "claimedOverdueConnectionCount");
+  static final AtomicLongFieldUpdater<PoolState> ACCUMULATED_CHECKOUT_TIME_OF_OVERDUE_CONNECTIONS = newUpdater(
+      "accumulatedCheckoutTimeOfOverdueConnections");
+  static final AtomicLongFieldUpdater<PoolState> ACCUMULATED_WAIT_TIME = newUpdater("accumulatedWaitTime");
+  static final AtomicLongFieldUpdater<PoolState> HAD_TO_WAIT_COUNT = newUpdater("hadToWaitCount");
+  static final AtomicLongFieldUpdater<PoolState> BAD_CONNECTION_COUNT = newUpdater("badConnectionCount");
+
   protected final List<PooledConnection> idleConnections = new ArrayList<>();
   protected final List<PooledConnection> activeConnections = new ArrayList<>();
-  protected long requestCount;
-  protected long accumulatedRequestTime;
-  protected long accumulatedCheckoutTime;
-  protected long claimedOverdueConnectionCount;
-  protected long accumulatedCheckoutTimeOfOverdueConnections;
-  protected long accumulatedWaitTime;
-  protected long hadToWaitCount;
-  protected long badConnectionCount;
+  final ConnectionBag bag = new ConnectionBag();
+  protected volatile long requestCount;
+  protected volatile long accumulatedRequestTime;
+  protected volatile long accumulatedCheckoutTime;
+  protected volatile long claimedOverdueConnectionCount;
+  protected volatile long accumulatedCheckoutTimeOfOverdueConnections;
+  protected volatile long accumulatedWaitTime;
+  protected volatile long hadToWaitCount;
+  protected volatile long badConnectionCount;
 
   public PoolState(PooledDataSource dataSource) {
     this.dataSource = dataSource;
@@ -124,7 +139,7 @@ public class PoolState {
   public int getIdleConnectionCount() {
     lock.lock();
     try {
-      return idleConnections.size();
+      return idleConnections.size() + bag.getCount(ConnectionBag.STATE_NOT_IN_USE);
     } finally {
       lock.unlock();
     }
@@ -133,12 +148,16 @@ public class PoolState {
   public int getActiveConnectionCount() {
     lock.lock();
     try {
-      return activeConnections.size();
+      return activeConnections.size() + bag.getCount(ConnectionBag.STATE_IN_USE);
     } finally {
       lock.unlock();
     }
   }
 
+  private static AtomicLongFieldUpdater<PoolState> newUpdater(String fieldName) {
+    return AtomicLongFieldUpdater.newUpdater(PoolState.class, fieldName);
+  }
+
   @Override
   public String toString() {
     lock.lock();
@@ -157,6 +176,12 @@ public class PoolState {
       builder.append("\n poolPingEnabled                ").append(dataSource.poolPingEnabled);
       builder.append("\n poolPingQuery                  ").append(dataSource.poolPingQuery);
       builder.append("\n poolPingConnectionsNotUsedFor  ").append(dataSource.poolPingConnectionsNotUsedFor);
+      builder.append("\n poolConcurrentHandOff          ").append(dataSource.poolConcurrentHandOff);
+      builder.append("\n poolMaintenanceInterval        ").append(dataSource.poolMaintenanceInterval);
+      builder.append("\n poolMinIdleConnections         ").append(dataSource.poolMinimumIdleConnections);
+      builder.append("\n poolMaxIdleTime                ").append(dataSource.poolMaximumIdleTime);
+      builder.append("\n poolMaxLifetime                ").append(dataSource.poolMaximumLifetime);
+      builder.append("\n poolReclaimOverdueConnections  ").append(dataSource.poolReclaimOverdueConnections);
       builder.append("\n ---STATUS-----------------------------------------------------");
       builder.append("\n activeConnections              ").append(getActiveConnectionCount());
       builder.append("\n idleConnections                ").append(getIdleConnectionCount());
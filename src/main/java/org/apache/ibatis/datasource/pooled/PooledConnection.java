@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import org.apache.ibatis.reflection.ExceptionUtil;
 class PooledConnection implements InvocationHandler {
 
   private static final String CLOSE = "close";
+  private static final String PREPARE_STATEMENT = "prepareStatement";
   private static final Class<?>[] IFACES = { Connection.class };
 
   private final int hashCode;
@@ -36,10 +37,14 @@ class PooledConnection implements InvocationHandler {
   private final Connection realConnection;
   private final Connection proxyConnection;
   private long checkoutTimestamp;
+  private long checkoutNanoTime;
   private long createdTimestamp;
   private long lastUsedTimestamp;
+  private long lastValidatedTimestamp;
   private int connectionTypeCode;
   private boolean valid;
+  private ConnectionBag.Entry bagEntry;
+  private StatementCache statementCache;
 
   /**
    * Constructor for SimplePooledConnection that uses the Connection and PooledDataSource passed in.
@@ -168,6 +173,25 @@ class PooledConnection implements InvocationHandler {
     return System.currentTimeMillis() - lastUsedTimestamp;
   }
 
+  /**
+   * Setter for the time that the connection was last validated while idle.
+   *
+   * @param lastValidatedTimestamp
+   *          - the timestamp
+   */
+  public void setLastValidatedTimestamp(long lastValidatedTimestamp) {
+    this.lastValidatedTimestamp = lastValidatedTimestamp;
+  }
+
+  /**
+   * Getter for the time since this connection was last used or validated.
+   *
+   * @return - the time since the last use or validation
+   */
+  public long getTimeElapsedSinceLastValidation() {
+    return System.currentTimeMillis() - Math.max(lastUsedTimestamp, lastValidatedTimestamp);
+  }
+
   /**
    * Getter for the age of the connection.
    *
@@ -196,6 +220,19 @@ class PooledConnection implements InvocationHandler {
     this.checkoutTimestamp = timestamp;
   }
 
+  /**
+   * Getter for the {@link System#nanoTime()} at checkout, only set when timings are recorded.
+   *
+   * @return the nano time, or 0 if it was not set
+   */
+  long getCheckoutNanoTime() {
+    return checkoutNanoTime;
+  }
+
+  void setCheckoutNanoTime(long checkoutNanoTime) {
+    this.checkoutNanoTime = checkoutNanoTime;
+  }
+
   /**
    * Getter for the time that this connection has been checked out.
    *
@@ -205,6 +242,39 @@ class PooledConnection implements InvocationHandler {
     return System.currentTimeMillis() - checkoutTimestamp;
   }
 
+  /**
+   * Getter for the entry holding this connection when the pool runs in concurrent hand-off mode.
+   *
+   * @return the entry, or null if the connection is not held in a {@link ConnectionBag}
+   */
+  ConnectionBag.Entry getBagEntry() {
+    return bagEntry;
+  }
+
+  void setBagEntry(ConnectionBag.Entry bagEntry) {
+    this.bagEntry = bagEntry;
+  }
+
+  /**
+   * Getter for the cache of the prepared statements of the real connection.
+   *
+   * @return the cache, or null if no statement was cached yet
+   */
+  StatementCache getStatementCache() {
+    return statementCache;
+  }
+
+  /**
+   * Setter for the cache of the prepared statements of the real connection, which is handed over when the real
+   * connection is wrapped again on its return to the pool.
+   *
+   * @param statementCache
+   *          the cache
+   */
+  void setStatementCache(StatementCache statementCache) {
+    this.statementCache = statementCache;
+  }
+
   @Override
   public int hashCode() {
     return hashCode;
@@ -255,6 +325,12 @@ class PooledConnection implements InvocationHandler {
         // throw an SQLException instead of a Runtime
         checkConnection();
       }
+      if (PREPARE_STATEMENT.equals(methodName) && dataSource.getPoolStatementCacheSize() > 0) {
+        if (statementCache == null) {
+          statementCache = new StatementCache(dataSource.getPoolStatementCacheSize());
+        }
+        return statementCache.prepareStatement(realConnection, method, args);
+      }
       return method.invoke(realConnection, args);
     } catch (Throwable t) {
       throw ExceptionUtil.unwrapThrowable(t);
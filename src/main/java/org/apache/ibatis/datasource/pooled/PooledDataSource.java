@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,14 +16,26 @@
 package org.apache.ibatis.datasource.pooled;
 
 import java.io.PrintWriter;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -57,12 +69,29 @@ public class PooledDataSource implements DataSource {
   protected String poolPingQuery = "NO PING QUERY SET";
   protected boolean poolPingEnabled;
   protected int poolPingConnectionsNotUsedFor;
+  protected boolean poolConcurrentHandOff;
+  protected int poolMaintenanceInterval;
+  protected int poolMinimumIdleConnections;
+  protected int poolMaximumIdleTime;
+  protected int poolMaximumLifetime;
+  protected boolean poolReclaimOverdueConnections;
+  protected int poolWarmUpConnections;
+  protected boolean poolNonBlockingGrowth;
+  protected int poolStatementCacheSize;
+  protected PoolMetricsListener poolMetricsListener = PoolMetricsListener.NOOP;
 
   private int expectedConnectionTypeCode;
 
   private final Lock lock = new ReentrantLock();
   private final Condition condition = lock.newCondition();
 
+  // The number of connections being opened outside the lock, guarded by the lock
+  private int pendingConnectionCount;
+  private final AtomicBoolean warmedUp = new AtomicBoolean();
+
+  private ScheduledExecutorService maintenanceExecutor;
+  private ScheduledFuture<?> maintenanceTask;
+
   public PooledDataSource() {
     dataSource = new UnpooledDataSource();
   }
@@ -265,6 +294,140 @@ public class PooledDataSource implements DataSource {
     forceCloseAll();
   }
 
+  /**
+   * Determines if connections are checked out and returned without taking the pool lock. In this mode, a thread first
+   * reuses the connection it returned last, then claims any idle connection with a lock-free scan, and a waiting thread
+   * receives a returned connection directly from the returning thread.
+   *
+   * @param poolConcurrentHandOff
+   *          True to use the lock-free hand-off instead of the pool lock
+   *
+   * @since 3.6.0
+   */
+  public void setPoolConcurrentHandOff(boolean poolConcurrentHandOff) {
+    this.poolConcurrentHandOff = poolConcurrentHandOff;
+    forceCloseAll();
+  }
+
+  /**
+   * The interval between two runs of the background maintenance, which validates and evicts idle connections, keeps the
+   * minimum number of idle connections open and optionally reclaims overdue connections, so that callers do not have
+   * to.
+   *
+   * @param milliseconds
+   *          the number of milliseconds between two runs, or 0 to disable the background maintenance
+   *
+   * @since 3.6.0
+   */
+  public void setPoolMaintenanceInterval(int milliseconds) {
+    this.poolMaintenanceInterval = milliseconds;
+    scheduleMaintenance();
+  }
+
+  /**
+   * The minimum number of idle connections the background maintenance keeps open.
+   *
+   * @param poolMinimumIdleConnections
+   *          The minimum number of idle connections
+   *
+   * @since 3.6.0
+   */
+  public void setPoolMinimumIdleConnections(int poolMinimumIdleConnections) {
+    this.poolMinimumIdleConnections = poolMinimumIdleConnections;
+  }
+
+  /**
+   * If a connection has been idle for more than this many milliseconds, the background maintenance closes it unless the
+   * pool would be left with less than the minimum number of idle connections.
+   *
+   * @param milliseconds
+   *          the maximum idle time, or 0 to keep idle connections open
+   *
+   * @since 3.6.0
+   */
+  public void setPoolMaximumIdleTime(int milliseconds) {
+    this.poolMaximumIdleTime = milliseconds;
+  }
+
+  /**
+   * If an idle connection was opened more than this many milliseconds ago, the background maintenance closes it.
+   *
+   * @param milliseconds
+   *          the maximum lifetime, or 0 to keep connections open regardless of their age
+   *
+   * @since 3.6.0
+   */
+  public void setPoolMaximumLifetime(int milliseconds) {
+    this.poolMaximumLifetime = milliseconds;
+  }
+
+  /**
+   * Determines if the background maintenance takes back connections that have been checked out for longer than the
+   * maximum checkout time, instead of waiting for a caller to claim them when the pool is exhausted.
+   *
+   * @param poolReclaimOverdueConnections
+   *          True to reclaim overdue connections in the background
+   *
+   * @since 3.6.0
+   */
+  public void setPoolReclaimOverdueConnections(boolean poolReclaimOverdueConnections) {
+    this.poolReclaimOverdueConnections = poolReclaimOverdueConnections;
+  }
+
+  /**
+   * The number of connections opened in parallel when the pool is first used, or when {@link #warmUp()} is called.
+   *
+   * @param poolWarmUpConnections
+   *          the number of connections, which is capped by the maximum number of idle connections
+   *
+   * @since 3.6.0
+   */
+  public void setPoolWarmUpConnections(int poolWarmUpConnections) {
+    this.poolWarmUpConnections = poolWarmUpConnections;
+  }
+
+  /**
+   * Determines if new connections are opened outside the pool lock, so that other threads can check out and return
+   * connections while the database handshake is in progress.
+   *
+   * @param poolNonBlockingGrowth
+   *          True to open new connections without holding the pool lock
+   *
+   * @since 3.6.0
+   */
+  public void setPoolNonBlockingGrowth(boolean poolNonBlockingGrowth) {
+    this.poolNonBlockingGrowth = poolNonBlockingGrowth;
+    forceCloseAll();
+  }
+
+  /**
+   * The number of idle prepared statements kept open per connection, so that they are reused by the next sessions
+   * preparing the same SQL on that connection.
+   *
+   * @param poolStatementCacheSize
+   *          the number of statements, or 0 to close statements when they are closed
+   *
+   * @since 3.6.0
+   */
+  public void setPoolStatementCacheSize(int poolStatementCacheSize) {
+    this.poolStatementCacheSize = poolStatementCacheSize;
+    forceCloseAll();
+  }
+
+  /**
+   * Sets the listener that receives checkout wait, usage, creation and timeout timings.
+   *
+   * @param poolMetricsListener
+   *          the listener, or null to stop recording timings
+   *
+   * @since 3.6.0
+   *
+   * @see HistogramPoolMetricsListener
+   */
+  public void setPoolMetricsListener(PoolMetricsListener poolMetricsListener) {
+    this.poolMetricsListener = poolMetricsListener == null ? PoolMetricsListener.NOOP : poolMetricsListener;
+  }
+
   public String getDriver() {
     return dataSource.getDriver();
   }
@@ -336,6 +499,81 @@ public class PooledDataSource implements DataSource {
     return poolPingConnectionsNotUsedFor;
   }
 
+  public boolean isPoolConcurrentHandOff() {
+    return poolConcurrentHandOff;
+  }
+
+  public int getPoolMaintenanceInterval() {
+    return poolMaintenanceInterval;
+  }
+
+  public int getPoolMinimumIdleConnections() {
+    return poolMinimumIdleConnections;
+  }
+
+  public int getPoolMaximumIdleTime() {
+    return poolMaximumIdleTime;
+  }
+
+  public int getPoolMaximumLifetime() {
+    return poolMaximumLifetime;
+  }
+
+  public boolean isPoolReclaimOverdueConnections() {
+    return poolReclaimOverdueConnections;
+  }
+
+  public int getPoolWarmUpConnections() {
+    return poolWarmUpConnections;
+  }
+
+  public boolean isPoolNonBlockingGrowth() {
+    return poolNonBlockingGrowth;
+  }
+
+  public int getPoolStatementCacheSize() {
+    return poolStatementCacheSize;
+  }
+
+  public PoolMetricsListener getPoolMetricsListener() {
+    return poolMetricsListener;
+  }
+
+  /**
+   * Opens the configured number of warm-up connections in parallel and adds them to the pool as idle connections, so
+   * that the first requests do not have to wait for database handshakes one after another. This is done automatically
+   * the first time a connection is requested, calling it earlier moves that work to startup.
+   *
+   * @since 3.6.0
+   */
+  public void warmUp() {
+    warmedUp.set(true);
+    int connectionCount = Math.min(poolWarmUpConnections, poolMaximumIdleConnections);
+    if (connectionCount <= 0) {
+      return;
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(connectionCount,
+        newDaemonThreadFactory("mybatis-pool-warm-up"));
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int i = 0; i < connectionCount; i++) {
+        futures.add(executor.submit(this::openIdleConnection));
+      }
+      for (Future<Boolean> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      log.warn("Pool warm-up failed: " + e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+    if (log.isDebugEnabled()) {
+      log.debug("Warmed up pool with " + state.getIdleConnectionCount() + " idle connections.");
+    }
+  }
+
   /**
    * Closes all active and idle connections in the pool.
    */
@@ -344,32 +582,16 @@ public class PooledDataSource implements DataSource {
     try {
       expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(),
           dataSource.getPassword());
+      warmedUp.set(false);
       for (int i = state.activeConnections.size(); i > 0; i--) {
-        try {
-          PooledConnection conn = state.activeConnections.remove(i - 1);
-          conn.invalidate();
-
-          Connection realConn = conn.getRealConnection();
-          if (!realConn.getAutoCommit()) {
-            realConn.rollback();
-          }
-          realConn.close();
-        } catch (Exception e) {
-          // ignore
-        }
+        closeQuietly(state.activeConnections.remove(i - 1));
       }
       for (int i = state.idleConnections.size(); i > 0; i--) {
-        try {
-          PooledConnection conn = state.idleConnections.remove(i - 1);
-          conn.invalidate();
-
-          Connection realConn = conn.getRealConnection();
-          if (!realConn.getAutoCommit()) {
-            realConn.rollback();
-          }
-          realConn.close();
-        } catch (Exception e) {
-          // ignore
+        closeQuietly(state.idleConnections.remove(i - 1));
+      }
+      for (ConnectionBag.Entry entry : state.bag.values()) {
+        if (state.bag.remove(entry)) {
+          closeQuietly(entry.getConnection());
         }
       }
     } finally {
@@ -388,12 +610,31 @@ public class PooledDataSource implements DataSource {
     return ("" + url + username + password).hashCode();
   }
 
+  private void closeQuietly(PooledConnection conn) {
+    try {
+      conn.invalidate();
+
+      Connection realConn = conn.getRealConnection();
+      if (!realConn.getAutoCommit()) {
+        realConn.rollback();
+      }
+      realConn.close();
+    } catch (Exception e) {
+      // ignore
+    }
+  }
+
   protected void pushConnection(PooledConnection conn) throws SQLException {
+    if (poolConcurrentHandOff) {
+      pushConnectionConcurrently(conn);
+      return;
+    }
 
     lock.lock();
     try {
       state.activeConnections.remove(conn);
       if (conn.isValid()) {
+        recordReleased(conn);
         if (state.idleConnections.size() < poolMaximumIdleConnections
             && conn.getConnectionTypeCode() == expectedConnectionTypeCode) {
           state.accumulatedCheckoutTime += conn.getCheckoutTime();
@@ -404,6 +645,7 @@ public class PooledDataSource implements DataSource {
           state.idleConnections.add(newConn);
           newConn.setCreatedTimestamp(conn.getCreatedTimestamp());
           newConn.setLastUsedTimestamp(conn.getLastUsedTimestamp());
+          newConn.setStatementCache(conn.getStatementCache());
           conn.invalidate();
           if (log.isDebugEnabled()) {
             log.debug("Returned connection " + newConn.getRealHashCode() + " to pool.");
@@ -433,9 +675,16 @@ public class PooledDataSource implements DataSource {
   }
 
   private PooledConnection popConnection(String username, String password) throws SQLException {
+    if (poolWarmUpConnections > 0 && !warmedUp.get() && warmedUp.compareAndSet(false, true)) {
+      warmUp();
+    }
+    if (poolConcurrentHandOff) {
+      return popConnectionConcurrently(username, password);
+    }
     boolean countedWait = false;
     PooledConnection conn = null;
     long t = System.currentTimeMillis();
+    long startNanos = metricsNanoTime();
     int localBadConnectionCount = 0;
 
     while (conn == null) {
@@ -447,16 +696,18 @@ public class PooledDataSource implements DataSource {
           if (log.isDebugEnabled()) {
             log.debug("Checked out connection " + conn.getRealHashCode() + " from pool.");
           }
-        } else if (state.activeConnections.size() < poolMaximumActiveConnections) {
+        } else if (state.activeConnections.size() + pendingConnectionCount < poolMaximumActiveConnections) {
           // Pool does not have available connection and can create a new connection
-          conn = new PooledConnection(dataSource.getConnection(), this);
+          conn = new PooledConnection(createConnection(), this);
           if (log.isDebugEnabled()) {
             log.debug("Created connection " + conn.getRealHashCode() + ".");
           }
         } else {
           // Cannot create new connection
-          PooledConnection oldestActiveConnection = state.activeConnections.get(0);
-          long longestCheckoutTime = oldestActiveConnection.getCheckoutTime();
+          // All connections may still be being opened by other threads
+          PooledConnection oldestActiveConnection = state.activeConnections.isEmpty() ? null
+              : state.activeConnections.get(0);
+          long longestCheckoutTime = oldestActiveConnection == null ? 0 : oldestActiveConnection.getCheckoutTime();
           if (longestCheckoutTime > poolMaximumCheckoutTime) {
             // Can claim overdue connection
             state.claimedOverdueConnectionCount++;
@@ -494,8 +745,10 @@ public class PooledDataSource implements DataSource {
                 log.debug("Waiting as long as " + poolTimeToWait + " milliseconds for connection.");
               }
               long wt = System.currentTimeMillis();
+              long waitStartNanos = metricsNanoTime();
               if (!condition.await(poolTimeToWait, TimeUnit.MILLISECONDS)) {
                 log.debug("Wait failed...");
+                recordTimedOut(waitStartNanos);
               }
               state.accumulatedWaitTime += System.currentTimeMillis() - wt;
             } catch (InterruptedException e) {
@@ -517,6 +770,7 @@ public class PooledDataSource implements DataSource {
             state.activeConnections.add(conn);
             state.requestCount++;
             state.accumulatedRequestTime += System.currentTimeMillis() - t;
+            recordAcquired(conn, startNanos);
           } else {
             if (log.isDebugEnabled()) {
               log.debug("A bad connection (" + conn.getRealHashCode()
@@ -550,6 +804,534 @@ public class PooledDataSource implements DataSource {
     return conn;
   }
 
+  private Connection openPhysicalConnection() throws SQLException {
+    long startNanos = metricsNanoTime();
+    Connection connection = dataSource.getConnection();
+    if (poolMetricsListener != PoolMetricsListener.NOOP) {
+      poolMetricsListener.connectionCreated(System.nanoTime() - startNanos);
+    }
+    return connection;
+  }
+
+  private long metricsNanoTime() {
+    // avoid reading the clock when nobody listens
+    return poolMetricsListener == PoolMetricsListener.NOOP ? 0 : System.nanoTime();
+  }
+
+  private void recordAcquired(PooledConnection conn, long startNanos) {
+    if (poolMetricsListener != PoolMetricsListener.NOOP) {
+      long now = System.nanoTime();
+      conn.setCheckoutNanoTime(now);
+      poolMetricsListener.connectionAcquired(now - startNanos);
+    }
+  }
+
+  private void recordReleased(PooledConnection conn) {
+    if (poolMetricsListener != PoolMetricsListener.NOOP && conn.getCheckoutNanoTime() != 0) {
+      poolMetricsListener.connectionReleased(System.nanoTime() - conn.getCheckoutNanoTime());
+    }
+  }
+
+  private void recordTimedOut(long waitStartNanos) {
+    if (poolMetricsListener != PoolMetricsListener.NOOP) {
+      poolMetricsListener.connectionTimedOut(System.nanoTime() - waitStartNanos);
+    }
+  }
+
+  /**
+   * Opens a physical connection while holding the pool lock, which is released during the handshake in non-blocking
+   * growth mode.
+   */
+  private Connection createConnection() throws SQLException {
+    if (!poolNonBlockingGrowth) {
+      return openPhysicalConnection();
+    }
+    pendingConnectionCount++;
+    lock.unlock();
+    boolean created = false;
+    try {
+      Connection connection = openPhysicalConnection();
+      created = true;
+      return connection;
+    } finally {
+      lock.lock();
+      pendingConnectionCount--;
+      if (!created) {
+        condition.signal();
+      }
+    }
+  }
+
+  private PooledConnection popConnectionConcurrently(String username, String password) throws SQLException {
+    final ConnectionBag bag = state.bag;
+    boolean countedWait = false;
+    long t = System.currentTimeMillis();
+    long startNanos = metricsNanoTime();
+    int localBadConnectionCount = 0;
+
+    while (true) {
+      ConnectionBag.Entry entry = bag.borrow();
+      if (entry != null) {
+        // Pool has available connection
+        if (log.isDebugEnabled()) {
+          log.debug("Checked out connection " + entry.getConnection().getRealHashCode() + " from pool.");
+        }
+      } else if (bag.reserve(poolMaximumActiveConnections)) {
+        // Pool does not have available connection and can create a new connection
+        PooledConnection newConn;
+        try {
+          newConn = new PooledConnection(openPhysicalConnection(), this);
+        } catch (SQLException | RuntimeException e) {
+          bag.cancelReservation();
+          throw e;
+        }
+        entry = bag.add(newConn, ConnectionBag.STATE_IN_USE);
+        if (log.isDebugEnabled()) {
+          log.debug("Created connection " + newConn.getRealHashCode() + ".");
+        }
+      } else {
+        // Cannot create new connection
+        entry = claimOverdueConnection(bag);
+        if (entry == null) {
+          // Must wait
+          if (!countedWait) {
+            PoolState.HAD_TO_WAIT_COUNT.incrementAndGet(state);
+            countedWait = true;
+          }
+          if (log.isDebugEnabled()) {
+            log.debug("Waiting as long as " + poolTimeToWait + " milliseconds for connection.");
+          }
+          long wt = System.currentTimeMillis();
+          long waitStartNanos = metricsNanoTime();
+          try {
+            entry = bag.await(poolTimeToWait, TimeUnit.MILLISECONDS);
+          } catch (InterruptedException e) {
+            // set interrupt flag
+            Thread.currentThread().interrupt();
+            throw new SQLException(
+                "PooledDataSource: Unknown severe error condition.  The connection pool returned a null connection.");
+          } finally {
+            PoolState.ACCUMULATED_WAIT_TIME.addAndGet(state, System.currentTimeMillis() - wt);
+          }
+          if (entry == null) {
+            log.debug("Wait failed...");
+            recordTimedOut(waitStartNanos);
+            continue;
+          }
+        }
+      }
+
+      PooledConnection conn = entry.getConnection();
+      // ping to server and check the connection is valid or not
+      if (conn.isValid()) {
+        try {
+          if (!conn.getRealConnection().getAutoCommit()) {
+            conn.getRealConnection().rollback();
+          }
+        } catch (SQLException e) {
+          bag.remove(entry);
+          closeQuietly(conn);
+          throw e;
+        }
+        conn.setConnectionTypeCode(assembleConnectionTypeCode(dataSource.getUrl(), username, password));
+        conn.setCheckoutTimestamp(System.currentTimeMillis());
+        conn.setLastUsedTimestamp(System.currentTimeMillis());
+        PoolState.REQUEST_COUNT.incrementAndGet(state);
+        PoolState.ACCUMULATED_REQUEST_TIME.addAndGet(state, System.currentTimeMillis() - t);
+        recordAcquired(conn, startNanos);
+        return conn;
+      }
+      if (log.isDebugEnabled()) {
+        log.debug("A bad connection (" + conn.getRealHashCode()
+            + ") was returned from the pool, getting another connection.");
+      }
+      bag.remove(entry);
+      closeQuietly(conn);
+      PoolState.BAD_CONNECTION_COUNT.incrementAndGet(state);
+      localBadConnectionCount++;
+      if (localBadConnectionCount > poolMaximumIdleConnections + poolMaximumLocalBadConnectionTolerance) {
+        if (log.isDebugEnabled()) {
+          log.debug("PooledDataSource: Could not get a good connection to the database.");
+        }
+        throw new SQLException("PooledDataSource: Could not get a good connection to the database.");
+      }
+    }
+  }
+
+  private ConnectionBag.Entry claimOverdueConnection(ConnectionBag bag) {
+    ConnectionBag.Entry oldestEntry = null;
+    long oldestCheckoutTimestamp = Long.MAX_VALUE;
+    for (ConnectionBag.Entry entry : bag.values()) {
+      // A connection that has been claimed but not yet checked out has no checkout timestamp
+      long checkoutTimestamp = entry.getConnection().getCheckoutTimestamp();
+      if (entry.getState() == ConnectionBag.STATE_IN_USE && checkoutTimestamp > 0
+          && checkoutTimestamp < oldestCheckoutTimestamp) {
+        oldestEntry = entry;
+        oldestCheckoutTimestamp = checkoutTimestamp;
+      }
+    }
+    if (oldestEntry == null) {
+      return null;
+    }
+    if (oldestEntry.getConnection().getCheckoutTime() <= poolMaximumCheckoutTime
+        || !oldestEntry.compareAndSet(ConnectionBag.STATE_IN_USE, ConnectionBag.STATE_RESERVED)) {
+      return null;
+    }
+    reclaimOverdueConnection(oldestEntry);
+    oldestEntry.setState(ConnectionBag.STATE_IN_USE);
+    return oldestEntry;
+  }
+
+  /**
+   * Takes an overdue connection away from its current user and rewraps it. The entry must be reserved by the caller.
+   */
+  private void reclaimOverdueConnection(ConnectionBag.Entry entry) {
+    PooledConnection oldestActiveConnection = entry.getConnection();
+    long longestCheckoutTime = oldestActiveConnection.getCheckoutTime();
+    PoolState.CLAIMED_OVERDUE_CONNECTION_COUNT.incrementAndGet(state);
+    PoolState.ACCUMULATED_CHECKOUT_TIME_OF_OVERDUE_CONNECTIONS.addAndGet(state, longestCheckoutTime);
+    PoolState.ACCUMULATED_CHECKOUT_TIME.addAndGet(state, longestCheckoutTime);
+    oldestActiveConnection.invalidate();
+    try {
+      if (!oldestActiveConnection.getRealConnection().getAutoCommit()) {
+        oldestActiveConnection.getRealConnection().rollback();
+      }
+    } catch (SQLException e) {
+      // The connection is validated by the caller, as in the pool lock mode.
+      log.debug("Bad connection. Could not roll back");
+    }
+    PooledConnection conn = new PooledConnection(oldestActiveConnection.getRealConnection(), this);
+    conn.setCreatedTimestamp(oldestActiveConnection.getCreatedTimestamp());
+    conn.setLastUsedTimestamp(oldestActiveConnection.getLastUsedTimestamp());
+    entry.setConnection(conn);
+    if (log.isDebugEnabled()) {
+      log.debug("Claimed overdue connection " + conn.getRealHashCode() + ".");
+    }
+  }
+
+  private void pushConnectionConcurrently(PooledConnection conn) throws SQLException {
+    final ConnectionBag bag = state.bag;
+    ConnectionBag.Entry entry = conn.getBagEntry();
+    // The entry no longer belongs to this handle if the connection was claimed as overdue or forcibly closed
+    boolean owned = entry != null && entry.getConnection() == conn
+        && entry.compareAndSet(ConnectionBag.STATE_IN_USE, ConnectionBag.STATE_RESERVED);
+    if (!owned || !conn.isValid()) {
+      if (owned) {
+        bag.remove(entry);
+      }
+      if (log.isDebugEnabled()) {
+        log.debug("A bad connection (" + conn.getRealHashCode()
+            + ") attempted to return to the pool, discarding connection.");
+      }
+      PoolState.BAD_CONNECTION_COUNT.incrementAndGet(state);
+      return;
+    }
+    PoolState.ACCUMULATED_CHECKOUT_TIME.addAndGet(state, conn.getCheckoutTime());
+    recordReleased(conn);
+    try {
+      if (!conn.getRealConnection().getAutoCommit()) {
+        conn.getRealConnection().rollback();
+      }
+      if (bag.getCount(ConnectionBag.STATE_NOT_IN_USE) < poolMaximumIdleConnections
+          && conn.getConnectionTypeCode() == expectedConnectionTypeCode) {
+        PooledConnection newConn = new PooledConnection(conn.getRealConnection(), this);
+        newConn.setCreatedTimestamp(conn.getCreatedTimestamp());
+        newConn.setLastUsedTimestamp(conn.getLastUsedTimestamp());
+        newConn.setStatementCache(conn.getStatementCache());
+        entry.setConnection(newConn);
+        conn.invalidate();
+        bag.requite(entry);
+        if (log.isDebugEnabled()) {
+          log.debug("Returned connection " + newConn.getRealHashCode() + " to pool.");
+        }
+      } else {
+        bag.remove(entry);
+        conn.getRealConnection().close();
+        if (log.isDebugEnabled()) {
+          log.debug("Closed connection " + conn.getRealHashCode() + ".");
+        }
+        conn.invalidate();
+      }
+    } catch (SQLException e) {
+      bag.remove(entry);
+      closeQuietly(conn);
+      throw e;
+    }
+  }
+
+  private void scheduleMaintenance() {
+    lock.lock();
+    try {
+      if (maintenanceTask != null) {
+        maintenanceTask.cancel(false);
+        maintenanceTask = null;
+      }
+      if (poolMaintenanceInterval > 0) {
+        if (maintenanceExecutor == null) {
+          maintenanceExecutor = Executors
+              .newSingleThreadScheduledExecutor(newDaemonThreadFactory("mybatis-pool-maintenance"));
+        }
+        maintenanceTask = maintenanceExecutor.scheduleWithFixedDelay(new MaintenanceTask(this, maintenanceExecutor),
+            poolMaintenanceInterval, poolMaintenanceInterval, TimeUnit.MILLISECONDS);
+      } else if (maintenanceExecutor != null) {
+        maintenanceExecutor.shutdown();
+        maintenanceExecutor = null;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static ThreadFactory newDaemonThreadFactory(String threadName) {
+    return runnable -> {
+      Thread thread = new Thread(runnable, threadName);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Performs one run of the background maintenance: reclaims overdue connections if enabled, closes expired idle
+   * connections, validates idle connections that would otherwise be pinged on checkout and opens connections up to the
+   * minimum number of idle connections.
+   */
+  void maintainPool() {
+    if (poolReclaimOverdueConnections) {
+      if (poolConcurrentHandOff) {
+        reclaimOverdueConnectionsConcurrently();
+      } else {
+        reclaimOverdueConnections();
+      }
+    }
+    if (poolConcurrentHandOff) {
+      validateIdleConnectionsConcurrently();
+    } else {
+      validateIdleConnections();
+    }
+    fillIdleConnections(poolMinimumIdleConnections);
+  }
+
+  private void reclaimOverdueConnections() {
+    lock.lock();
+    try {
+      for (int i = state.activeConnections.size(); i > 0; i--) {
+        PooledConnection oldestActiveConnection = state.activeConnections.get(i - 1);
+        long longestCheckoutTime = oldestActiveConnection.getCheckoutTime();
+        if (longestCheckoutTime <= poolMaximumCheckoutTime) {
+          continue;
+        }
+        state.claimedOverdueConnectionCount++;
+        state.accumulatedCheckoutTimeOfOverdueConnections += longestCheckoutTime;
+        state.accumulatedCheckoutTime += longestCheckoutTime;
+        state.activeConnections.remove(i - 1);
+        oldestActiveConnection.invalidate();
+        PooledConnection conn = new PooledConnection(oldestActiveConnection.getRealConnection(), this);
+        conn.setCreatedTimestamp(oldestActiveConnection.getCreatedTimestamp());
+        conn.setLastUsedTimestamp(oldestActiveConnection.getLastUsedTimestamp());
+        conn.setConnectionTypeCode(oldestActiveConnection.getConnectionTypeCode());
+        if (state.idleConnections.size() < poolMaximumIdleConnections
+            && conn.getConnectionTypeCode() == expectedConnectionTypeCode) {
+          try {
+            if (!conn.getRealConnection().getAutoCommit()) {
+              conn.getRealConnection().rollback();
+            }
+            state.idleConnections.add(conn);
+            condition.signal();
+          } catch (SQLException e) {
+            log.debug("Bad connection. Could not roll back");
+            closeQuietly(conn);
+            state.badConnectionCount++;
+          }
+        } else {
+          closeQuietly(conn);
+        }
+        if (log.isDebugEnabled()) {
+          log.debug("Reclaimed overdue connection " + conn.getRealHashCode() + ".");
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void reclaimOverdueConnectionsConcurrently() {
+    final ConnectionBag bag = state.bag;
+    for (ConnectionBag.Entry entry : bag.values()) {
+      long checkoutTimestamp = entry.getConnection().getCheckoutTimestamp();
+      if (entry.getState() != ConnectionBag.STATE_IN_USE || checkoutTimestamp == 0
+          || System.currentTimeMillis() - checkoutTimestamp <= poolMaximumCheckoutTime
+          || !entry.compareAndSet(ConnectionBag.STATE_IN_USE, ConnectionBag.STATE_RESERVED)) {
+        continue;
+      }
+      int connectionTypeCode = entry.getConnection().getConnectionTypeCode();
+      reclaimOverdueConnection(entry);
+      PooledConnection conn = entry.getConnection();
+      if (!conn.isValid()) {
+        bag.remove(entry);
+        closeQuietly(conn);
+        PoolState.BAD_CONNECTION_COUNT.incrementAndGet(state);
+      } else if (bag.getCount(ConnectionBag.STATE_NOT_IN_USE) < poolMaximumIdleConnections
+          && connectionTypeCode == expectedConnectionTypeCode) {
+        bag.requite(entry);
+      } else {
+        bag.remove(entry);
+        closeQuietly(conn);
+      }
+    }
+  }
+
+  private void validateIdleConnections() {
+    List<PooledConnection> expiredConnections = new ArrayList<>();
+    List<PooledConnection> staleConnections = new ArrayList<>();
+    lock.lock();
+    try {
+      int idleCount = state.idleConnections.size();
+      for (Iterator<PooledConnection> iterator = state.idleConnections.iterator(); iterator.hasNext();) {
+        PooledConnection conn = iterator.next();
+        if (isExpired(conn, idleCount)) {
+          iterator.remove();
+          expiredConnections.add(conn);
+          idleCount--;
+        } else if (isStale(conn)) {
+          iterator.remove();
+          staleConnections.add(conn);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    for (PooledConnection conn : expiredConnections) {
+      closeQuietly(conn);
+      if (log.isDebugEnabled()) {
+        log.debug("Closed expired connection " + conn.getRealHashCode() + ".");
+      }
+    }
+    // ping outside the lock, the connections are neither idle nor active in the meantime
+    for (PooledConnection conn : staleConnections) {
+      boolean valid = conn.isValid();
+      lock.lock();
+      try {
+        if (!valid) {
+          state.badConnectionCount++;
+        } else if (state.idleConnections.size() < poolMaximumIdleConnections) {
+          conn.setLastValidatedTimestamp(System.currentTimeMillis());
+          state.idleConnections.add(conn);
+          condition.signal();
+          continue;
+        }
+      } finally {
+        lock.unlock();
+      }
+      closeQuietly(conn);
+    }
+  }
+
+  private void validateIdleConnectionsConcurrently() {
+    final ConnectionBag bag = state.bag;
+    int idleCount = bag.getCount(ConnectionBag.STATE_NOT_IN_USE);
+    for (ConnectionBag.Entry entry : bag.values()) {
+      if (!entry.compareAndSet(ConnectionBag.STATE_NOT_IN_USE, ConnectionBag.STATE_RESERVED)) {
+        continue;
+      }
+      PooledConnection conn = entry.getConnection();
+      if (isExpired(conn, idleCount)) {
+        bag.remove(entry);
+        closeQuietly(conn);
+        idleCount--;
+        if (log.isDebugEnabled()) {
+          log.debug("Closed expired connection " + conn.getRealHashCode() + ".");
+        }
+      } else if (!isStale(conn)) {
+        bag.requite(entry);
+      } else if (conn.isValid()) {
+        conn.setLastValidatedTimestamp(System.currentTimeMillis());
+        bag.requite(entry);
+      } else {
+        bag.remove(entry);
+        closeQuietly(conn);
+        idleCount--;
+        PoolState.BAD_CONNECTION_COUNT.incrementAndGet(state);
+      }
+    }
+  }
+
+  private boolean isExpired(PooledConnection conn, int idleCount) {
+    return poolMaximumLifetime > 0 && conn.getAge() > poolMaximumLifetime || poolMaximumIdleTime > 0
+        && idleCount > poolMinimumIdleConnections && conn.getTimeElapsedSinceLastUse() > poolMaximumIdleTime;
+  }
+
+  private boolean isStale(PooledConnection conn) {
+    return poolPingEnabled && poolPingConnectionsNotUsedFor >= 0
+        && conn.getTimeElapsedSinceLastValidation() > poolPingConnectionsNotUsedFor;
+  }
+
+  /**
+   * Opens connections until the pool holds the given number of idle connections or the maximum number of connections.
+   */
+  private void fillIdleConnections(int minimumIdleConnections) {
+    while (state.getIdleConnectionCount() < minimumIdleConnections && openIdleConnection()) {
+      // keep opening
+    }
+  }
+
+  /**
+   * Opens a connection outside the pool lock and adds it to the idle connections.
+   *
+   * @return false if the pool had no room for another idle connection or the connection could not be opened
+   */
+  private boolean openIdleConnection() {
+    if (poolConcurrentHandOff) {
+      final ConnectionBag bag = state.bag;
+      if (!bag.reserve(poolMaximumActiveConnections)) {
+        return false;
+      }
+      PooledConnection conn = openConnection();
+      if (conn == null) {
+        bag.cancelReservation();
+        return false;
+      }
+      bag.requite(bag.add(conn, ConnectionBag.STATE_RESERVED));
+      return true;
+    }
+    lock.lock();
+    try {
+      if (state.idleConnections.size() + pendingConnectionCount >= poolMaximumIdleConnections
+          || state.idleConnections.size() + state.activeConnections.size()
+              + pendingConnectionCount >= poolMaximumActiveConnections) {
+        return false;
+      }
+      pendingConnectionCount++;
+    } finally {
+      lock.unlock();
+    }
+    PooledConnection conn = openConnection();
+    lock.lock();
+    try {
+      pendingConnectionCount--;
+      if (conn != null) {
+        state.idleConnections.add(conn);
+      }
+      condition.signal();
+    } finally {
+      lock.unlock();
+    }
+    return conn != null;
+  }
+
+  private PooledConnection openConnection() {
+    try {
+      PooledConnection conn = new PooledConnection(openPhysicalConnection(), this);
+      conn.setConnectionTypeCode(expectedConnectionTypeCode);
+      if (log.isDebugEnabled()) {
+        log.debug("Created connection " + conn.getRealHashCode() + ".");
+      }
+      return conn;
+    } catch (SQLException e) {
+      log.warn("Could not open a connection for the pool: " + e.getMessage());
+      return null;
+    }
+  }
+
   /**
    * Method to check to see if a connection is still usable
    *
@@ -571,7 +1353,7 @@ public class PooledDataSource implements DataSource {
     }
 
     if (result && poolPingEnabled && poolPingConnectionsNotUsedFor >= 0
-        && conn.getTimeElapsedSinceLastUse() > poolPingConnectionsNotUsedFor) {
+        && conn.getTimeElapsedSinceLastValidation() > poolPingConnectionsNotUsedFor) {
       try {
         if (log.isDebugEnabled()) {
           log.debug("Testing connection " + conn.getRealHashCode() + " ...");
@@ -622,10 +1404,45 @@ public class PooledDataSource implements DataSource {
 
   @Override
   protected void finalize() throws Throwable {
+    lock.lock();
+    try {
+      if (maintenanceExecutor != null) {
+        maintenanceExecutor.shutdown();
+      }
+    } finally {
+      lock.unlock();
+    }
     forceCloseAll();
     super.finalize();
   }
 
+  private static class MaintenanceTask implements Runnable {
+
+    // Does not keep an unreachable data source alive, the task stops the executor once it has been collected.
+    private final WeakReference<PooledDataSource> dataSource;
+    private final ScheduledExecutorService executor;
+
+    MaintenanceTask(PooledDataSource dataSource, ScheduledExecutorService executor) {
+      this.dataSource = new WeakReference<>(dataSource);
+      this.executor = executor;
+    }
+
+    @Override
+    public void run() {
+      PooledDataSource pooledDataSource = dataSource.get();
+      if (pooledDataSource == null) {
+        executor.shutdown();
+        return;
+      }
+      try {
+        pooledDataSource.maintainPool();
+      } catch (RuntimeException e) {
+        log.warn("Pool maintenance failed: " + e.getMessage());
+      }
+    }
+
+  }
+
   @Override
   public <T> T unwrap(Class<T> iface) throws SQLException {
     throw new SQLException(getClass().getName() + " is not a wrapper.");
@@ -0,0 +1,223 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+/**
+ * A cache of the idle prepared statements of a physical connection, which outlives the {@link PooledConnection}s
+ * wrapping it.
+ * <p>
+ * A statement is removed from the cache while it is in use, so the same SQL can be prepared twice at once. Closing it
+ * clears its parameters and puts it back, and the least recently used statement is closed when the cache is full.
+ * Statements are keyed by the arguments of {@code prepareStatement}, that is the SQL along with the result set type,
+ * concurrency and holdability, or the requested generated keys.
+ */
+final class StatementCache {
+
+  private static final Log log = LogFactory.getLog(StatementCache.class);
+
+  private static final Class<?>[] IFACES = { PreparedStatement.class };
+
+  private final int size;
+  private final Map<Key, PreparedStatement> idleStatements = new LinkedHashMap<>(16, 0.75f, true);
+
+  StatementCache(int size) {
+    this.size = size;
+  }
+
+  PreparedStatement prepareStatement(Connection connection, Method method, Object[] args) throws Throwable {
+    Key key = new Key(args);
+    PreparedStatement statement;
+    synchronized (this) {
+      statement = idleStatements.remove(key);
+    }
+    if (statement == null) {
+      try {
+        statement = (PreparedStatement) method.invoke(connection, args);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    }
+    return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), IFACES,
+        new CachedStatement(key, statement));
+  }
+
+  synchronized int getIdleCount() {
+    return idleStatements.size();
+  }
+
+  private void release(Key key, PreparedStatement statement) {
+    PreparedStatement evicted = null;
+    synchronized (this) {
+      PreparedStatement previous = idleStatements.put(key, statement);
+      if (previous != null) {
+        evicted = previous;
+      } else if (idleStatements.size() > size) {
+        Iterator<PreparedStatement> eldest = idleStatements.values().iterator();
+        evicted = eldest.next();
+        eldest.remove();
+      }
+    }
+    if (evicted != null) {
+      closeQuietly(evicted);
+    }
+  }
+
+  private static void closeQuietly(PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      log.debug("Could not close cached statement.  Cause: " + e);
+    }
+  }
+
+  private static final class Key {
+
+    private final Object[] args;
+    private final int hashCode;
+
+    Key(Object[] args) {
+      this.args = args;
+      this.hashCode = Arrays.deepHashCode(args);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key && hashCode == ((Key) obj).hashCode && Arrays.deepEquals(args, ((Key) obj).args);
+    }
+
+  }
+
+  /**
+   * The handle given to the caller, which puts the statement back in the cache on close.
+   */
+  private final class CachedStatement implements InvocationHandler {
+
+    private final Key key;
+    private final PreparedStatement statement;
+    private boolean closed;
+    private boolean batched;
+    // settings changed by the caller, restored on close
+    private Integer fetchSize;
+    private Integer maxRows;
+    private Integer queryTimeout;
+
+    CachedStatement(Key key, PreparedStatement statement) {
+      this.key = key;
+      this.statement = statement;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String methodName = method.getName();
+      if (Object.class.equals(method.getDeclaringClass())) {
+        switch (methodName) {
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          case "equals":
+            return proxy == args[0];
+          default:
+            return "Cached " + statement;
+        }
+      }
+      switch (methodName) {
+        case "close":
+          close();
+          return null;
+        case "isClosed":
+          return closed || statement.isClosed();
+        default:
+          break;
+      }
+      if (closed) {
+        throw new SQLException("Statement is closed.");
+      }
+      switch (methodName) {
+        case "addBatch":
+          batched = true;
+          break;
+        case "setFetchSize":
+          fetchSize = fetchSize == null ? statement.getFetchSize() : fetchSize;
+          break;
+        case "setMaxRows":
+          maxRows = maxRows == null ? statement.getMaxRows() : maxRows;
+          break;
+        case "setQueryTimeout":
+          queryTimeout = queryTimeout == null ? statement.getQueryTimeout() : queryTimeout;
+          break;
+        default:
+          break;
+      }
+      try {
+        return method.invoke(statement, args);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    }
+
+    private void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        if (statement.isClosed()) {
+          return;
+        }
+        statement.clearParameters();
+        statement.clearWarnings();
+        if (batched) {
+          statement.clearBatch();
+        }
+        if (fetchSize != null) {
+          statement.setFetchSize(fetchSize);
+        }
+        if (maxRows != null) {
+          statement.setMaxRows(maxRows);
+        }
+        if (queryTimeout != null) {
+          statement.setQueryTimeout(queryTimeout);
+        }
+      } catch (SQLException e) {
+        // a statement that cannot be reset is not reused
+        closeQuietly(statement);
+        return;
+      }
+      release(key, statement);
+    }
+
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import static org.apache.ibatis.executor.ExecutionPlaceholder.EXECUTION_PLACEHOL
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
@@ -32,6 +33,7 @@ import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.logging.jdbc.ConnectionLogger;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.MultiRowInsert;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
 import org.apache.ibatis.mapping.StatementType;
@@ -115,9 +117,25 @@ public abstract class BaseExecutor implements Executor {
       throw new ExecutorException("Executor was closed.");
     }
     clearLocalCache();
+    if (ms.getMultiRowInsertSize() > 0) {
+      List<Object> rows = MultiRowInsert.getRows(parameter);
+      if (rows != null) {
+        return doMultiRowInsert(ms, rows);
+      }
+    }
     return doUpdate(ms, parameter);
   }
 
+  private int doMultiRowInsert(MappedStatement ms, List<Object> rows) throws SQLException {
+    int updateCount = 0;
+    for (int from = 0; from < rows.size(); from += ms.getMultiRowInsertSize()) {
+      int to = Math.min(from + ms.getMultiRowInsertSize(), rows.size());
+      int count = doUpdate(ms, new ArrayList<>(rows.subList(from, to)));
+      updateCount = count == BatchExecutor.BATCH_UPDATE_RETURN_VALUE ? count : updateCount + count;
+    }
+    return updateCount;
+  }
+
   @Override
   public List<BatchResult> flushStatements() throws SQLException {
     return flushStatements(false);
@@ -200,12 +218,9 @@ public abstract class BaseExecutor implements Executor {
     if (closed) {
       throw new ExecutorException("Executor was closed.");
     }
-    CacheKey cacheKey = new CacheKey();
-    cacheKey.update(ms.getId());
-    cacheKey.update(rowBounds.getOffset());
-    cacheKey.update(rowBounds.getLimit());
-    cacheKey.update(boundSql.getSql());
     List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    // the parameter values and the environment id
+    CacheKey cacheKey = ms.newCacheKey(rowBounds, boundSql.getSql(), parameterMappings.size() + 1);
     TypeHandlerRegistry typeHandlerRegistry = ms.getConfiguration().getTypeHandlerRegistry();
     // mimic DefaultParameterHandler logic
     MetaObject metaObject = null;
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2025 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -20,8 +20,15 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
@@ -30,6 +37,7 @@ import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
@@ -46,6 +54,17 @@ public class BatchExecutor extends BaseExecutor {
   private final List<BatchResult> batchResultList = new ArrayList<>();
   private String currentSql;
   private MappedStatement currentStatement;
+  // indexes of the open statements that rows may be added to when grouping, all of the same command type
+  private final Map<MappedStatement, Map<String, Integer>> openStatements = new HashMap<>();
+  private SqlCommandType openCommandType;
+  // order in which the mapped statements were first seen since the last flush, parents presumably coming first
+  private final Map<MappedStatement, Integer> statementRanks = new HashMap<>();
+  // rows added to each statement since its batch was last executed
+  private int[] pendingRows = new int[8];
+  private int pendingRowCount;
+  // batches executed in the background, at most one at a time
+  private Future<List<BatchResult>> backgroundFlush;
+  private final List<BatchResult> flushedResults = new ArrayList<>();
 
   public BatchExecutor(Configuration configuration, Transaction transaction) {
     super(configuration, transaction);
@@ -59,14 +78,18 @@ public class BatchExecutor extends BaseExecutor {
     final BoundSql boundSql = handler.getBoundSql();
     final String sql = boundSql.getSql();
     final Statement stmt;
-    if (sql.equals(currentSql) && ms.equals(currentStatement)) {
-      int last = statementList.size() - 1;
-      stmt = statementList.get(last);
+    int index = sql.equals(currentSql) && ms.equals(currentStatement) ? statementList.size() - 1 : -1;
+    if (index < 0 && configuration.isGroupBatchStatements()) {
+      index = getOpenStatementIndex(ms, sql);
+    }
+    if (index >= 0) {
+      stmt = statementList.get(index);
       applyTransactionTimeout(stmt);
       handler.parameterize(stmt);// fix Issues 322
-      BatchResult batchResult = batchResultList.get(last);
+      BatchResult batchResult = batchResultList.get(index);
       batchResult.addParameterObject(parameterObject);
     } else {
+      index = statementList.size();
       Connection connection = getConnection(ms.getStatementLog());
       stmt = handler.prepare(connection, transaction.getTimeout());
       handler.parameterize(stmt); // fix Issues 322
@@ -74,11 +97,59 @@ public class BatchExecutor extends BaseExecutor {
       currentStatement = ms;
       statementList.add(stmt);
       batchResultList.add(new BatchResult(ms, sql, parameterObject));
+      if (configuration.isGroupBatchStatements()) {
+        statementRanks.putIfAbsent(ms, statementRanks.size());
+        openStatements.computeIfAbsent(ms, k -> new HashMap<>()).put(sql, index);
+      }
+      if (index == pendingRows.length) {
+        pendingRows = Arrays.copyOf(pendingRows, index * 2);
+      }
     }
     handler.batch(stmt);
+    pendingRows[index]++;
+    pendingRowCount++;
+    int batchSize = configuration.getBatchSize();
+    if (batchSize > 0 && pendingRowCount >= batchSize) {
+      if (configuration.isAsyncBatchFlush()) {
+        flushInBackground();
+      } else {
+        // statements are kept open to receive more rows
+        executeBatches(statementList, batchResultList, pendingRows, false, flushedResults);
+        Arrays.fill(pendingRows, 0, statementList.size(), 0);
+        pendingRowCount = 0;
+      }
+    }
     return BATCH_UPDATE_RETURN_VALUE;
   }
 
+  /**
+   * Rows are only added to an earlier statement while all the statements after it have the same command type, so that
+   * e.g. a delete is never moved before the inserts preceding it. A row is also never moved before a statement whose
+   * mapped statement was first seen before its own, as the row may depend on it like a child row on its parent.
+   */
+  private int getOpenStatementIndex(MappedStatement ms, String sql) {
+    if (ms.getSqlCommandType() != openCommandType) {
+      openStatements.clear();
+      openCommandType = ms.getSqlCommandType();
+      return -1;
+    }
+    Map<String, Integer> indexes = openStatements.get(ms);
+    if (indexes == null) {
+      return -1;
+    }
+    Integer index = indexes.get(sql);
+    if (index == null) {
+      return -1;
+    }
+    int rank = statementRanks.get(ms);
+    for (int i = index + 1, n = batchResultList.size(); i < n; i++) {
+      if (statementRanks.get(batchResultList.get(i).getMappedStatement()) <= rank) {
+        return -1;
+      }
+    }
+    return index;
+  }
+
   @Override
   public <E> List<E> doQuery(MappedStatement ms, Object parameterObject, RowBounds rowBounds,
       ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
@@ -114,50 +185,158 @@ public class BatchExecutor extends BaseExecutor {
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException {
     try {
-      List<BatchResult> results = new ArrayList<>();
       if (isRollback) {
+        // the connection must not be in use by the background flush when it is rolled back
+        awaitBackgroundFlushQuietly();
         return Collections.emptyList();
       }
-      for (int i = 0, n = statementList.size(); i < n; i++) {
-        Statement stmt = statementList.get(i);
-        applyTransactionTimeout(stmt);
-        BatchResult batchResult = batchResultList.get(i);
-        try {
-          batchResult.setUpdateCounts(stmt.executeBatch());
-          MappedStatement ms = batchResult.getMappedStatement();
-          List<Object> parameterObjects = batchResult.getParameterObjects();
-          KeyGenerator keyGenerator = ms.getKeyGenerator();
-          if (Jdbc3KeyGenerator.class.equals(keyGenerator.getClass())) {
-            Jdbc3KeyGenerator jdbc3KeyGenerator = (Jdbc3KeyGenerator) keyGenerator;
-            jdbc3KeyGenerator.processBatch(ms, stmt, parameterObjects);
-          } else if (!NoKeyGenerator.class.equals(keyGenerator.getClass())) { // issue #141
-            for (Object parameter : parameterObjects) {
-              keyGenerator.processAfter(this, ms, stmt, parameter);
-            }
-          }
-          // Close statement to close cursor #1109
-          closeStatement(stmt);
-        } catch (BatchUpdateException e) {
-          StringBuilder message = new StringBuilder();
-          message.append(batchResult.getMappedStatement().getId()).append(" (batch index #").append(i + 1).append(")")
-              .append(" failed.");
-          if (i > 0) {
-            message.append(" ").append(i)
-                .append(" prior sub executor(s) completed successfully, but will be rolled back.");
-          }
-          throw new BatchExecutorException(message.toString(), e, results, batchResult);
-        }
-        results.add(batchResult);
-      }
+      awaitBackgroundFlush();
+      executeBatches(statementList, batchResultList, pendingRows, true, flushedResults);
+      List<BatchResult> results = new ArrayList<>(flushedResults);
+      results.addAll(batchResultList);
       return results;
     } finally {
+      awaitBackgroundFlushQuietly();
       for (Statement stmt : statementList) {
         closeStatement(stmt);
       }
-      currentSql = null;
-      statementList.clear();
-      batchResultList.clear();
+      flushedResults.clear();
+      statementRanks.clear();
+      clearStatements();
+    }
+  }
+
+  private void clearStatements() {
+    currentSql = null;
+    openStatements.clear();
+    openCommandType = null;
+    Arrays.fill(pendingRows, 0, statementList.size(), 0);
+    pendingRowCount = 0;
+    statementList.clear();
+    batchResultList.clear();
+  }
+
+  /**
+   * Hands the pending batches to a background thread, which executes them while new rows are added to new statements.
+   */
+  private void flushInBackground() throws SQLException {
+    awaitBackgroundFlush();
+    List<Statement> statements = new ArrayList<>(statementList);
+    List<BatchResult> batchResults = new ArrayList<>(batchResultList);
+    int[] rows = Arrays.copyOf(pendingRows, statements.size());
+    List<BatchResult> previousResults = new ArrayList<>(flushedResults);
+    clearStatements();
+    backgroundFlush = BackgroundFlusher.EXECUTOR.submit(() -> {
+      try {
+        executeBatches(statements, batchResults, rows, true, previousResults);
+        return batchResults;
+      } finally {
+        for (Statement stmt : statements) {
+          closeStatement(stmt);
+        }
+      }
+    });
+  }
+
+  private void awaitBackgroundFlush() throws SQLException {
+    if (backgroundFlush == null) {
+      return;
     }
+    Future<List<BatchResult>> flush = backgroundFlush;
+    backgroundFlush = null;
+    try {
+      flushedResults.addAll(flush.get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExecutorException("Interrupted while waiting for a batch executed in the background.", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new ExecutorException("Error executing a batch in the background.  Cause: " + cause, cause);
+    }
+  }
+
+  private void awaitBackgroundFlushQuietly() {
+    try {
+      awaitBackgroundFlush();
+    } catch (SQLException | RuntimeException e) {
+      // the transaction is rolled back or the failure has already been thrown
+    }
+  }
+
+  private static List<Object> flattenRows(List<Object> parameterObjects) {
+    // a multi-row insert is batched with the list of its rows
+    List<Object> rows = new ArrayList<>();
+    for (Object parameterObject : parameterObjects) {
+      if (parameterObject instanceof List) {
+        rows.addAll((List<?>) parameterObject);
+      } else {
+        rows.add(parameterObject);
+      }
+    }
+    return rows;
+  }
+
+  private void executeBatches(List<Statement> statements, List<BatchResult> batchResults, int[] pendingRows,
+      boolean close, List<BatchResult> previousResults) throws SQLException {
+    for (int i = 0, n = statements.size(); i < n; i++) {
+      int rows = pendingRows[i];
+      if (rows == 0) {
+        continue;
+      }
+      Statement stmt = statements.get(i);
+      applyTransactionTimeout(stmt);
+      BatchResult batchResult = batchResults.get(i);
+      try {
+        batchResult.addUpdateCounts(stmt.executeBatch());
+        MappedStatement ms = batchResult.getMappedStatement();
+        List<Object> allParameterObjects = batchResult.getParameterObjects();
+        // a copy, as Jdbc3KeyGenerator only assigns keys to a list of ParamMaps if it is an ArrayList
+        List<Object> parameterObjects = new ArrayList<>(
+            allParameterObjects.subList(allParameterObjects.size() - rows, allParameterObjects.size()));
+        KeyGenerator keyGenerator = ms.getKeyGenerator();
+        if (Jdbc3KeyGenerator.class.equals(keyGenerator.getClass())) {
+          Jdbc3KeyGenerator jdbc3KeyGenerator = (Jdbc3KeyGenerator) keyGenerator;
+          jdbc3KeyGenerator.processBatch(ms, stmt,
+              ms.getMultiRowInsertSize() > 0 ? flattenRows(parameterObjects) : parameterObjects);
+        } else if (!NoKeyGenerator.class.equals(keyGenerator.getClass())) { // issue #141
+          for (Object parameter : parameterObjects) {
+            keyGenerator.processAfter(this, ms, stmt, parameter);
+          }
+        }
+        if (configuration.isDiscardBatchParameterObjects()) {
+          allParameterObjects.clear();
+        }
+        if (close) {
+          // Close statement to close cursor #1109
+          closeStatement(stmt);
+        }
+      } catch (BatchUpdateException e) {
+        StringBuilder message = new StringBuilder();
+        message.append(batchResult.getMappedStatement().getId()).append(" (batch index #").append(i + 1).append(")")
+            .append(" failed.");
+        if (i > 0) {
+          message.append(" ").append(i)
+              .append(" prior sub executor(s) completed successfully, but will be rolled back.");
+        }
+        List<BatchResult> successfulBatchResults = new ArrayList<>(previousResults);
+        successfulBatchResults.addAll(batchResults.subList(0, i));
+        throw new BatchExecutorException(message.toString(), e, successfulBatchResults, batchResult);
+      }
+    }
+  }
+
+  private static final class BackgroundFlusher {
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "mybatis-batch-flusher");
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 
 }
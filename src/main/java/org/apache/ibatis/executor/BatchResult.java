@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package org.apache.ibatis.executor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.ibatis.mapping.MappedStatement;
@@ -30,6 +31,7 @@ public class BatchResult {
   private final List<Object> parameterObjects;
 
   private int[] updateCounts;
+  private int updateCountsSize;
 
   public BatchResult(MappedStatement mappedStatement, String sql) {
     this.mappedStatement = mappedStatement;
@@ -60,11 +62,36 @@ public class BatchResult {
   }
 
   public int[] getUpdateCounts() {
+    if (updateCounts != null && updateCounts.length != updateCountsSize) {
+      updateCounts = Arrays.copyOf(updateCounts, updateCountsSize);
+    }
     return updateCounts;
   }
 
   public void setUpdateCounts(int[] updateCounts) {
     this.updateCounts = updateCounts;
+    this.updateCountsSize = updateCounts == null ? 0 : updateCounts.length;
+  }
+
+  /**
+   * Appends the update counts of the rows of a batch executed in several parts.
+   *
+   * @param updateCounts
+   *          the update counts of the rows executed last
+   *
+   * @since 3.6.0
+   */
+  public void addUpdateCounts(int[] updateCounts) {
+    if (this.updateCounts == null) {
+      setUpdateCounts(updateCounts);
+      return;
+    }
+    int size = updateCountsSize + updateCounts.length;
+    if (size > this.updateCounts.length) {
+      this.updateCounts = Arrays.copyOf(this.updateCounts, Math.max(size, this.updateCounts.length * 2));
+    }
+    System.arraycopy(updateCounts, 0, this.updateCounts, updateCountsSize, updateCounts.length);
+    updateCountsSize = size;
   }
 
   public void addParameterObject(Object parameterObject) {
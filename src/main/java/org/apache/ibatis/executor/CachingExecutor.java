@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2025 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,18 +16,31 @@
 package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.CacheTagVersions;
 import org.apache.ibatis.cache.TransactionalCacheManager;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Discriminator;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
@@ -38,6 +51,12 @@ import org.apache.ibatis.transaction.Transaction;
  */
 public class CachingExecutor implements Executor {
 
+  private static final Map<InFlightQuery, InFlightQuery> inFlightQueries = new ConcurrentHashMap<>();
+  private static final ThreadLocal<int[]> leadingQueries = ThreadLocal.withInitial(() -> new int[1]);
+  // seconds a caller waits for another one's query when neither the statement nor the transaction has a timeout
+  private static final int DEFAULT_COALESCED_WAIT_TIMEOUT = 30;
+  private static final String[] UNTAGGED = { CacheTagVersions.UNTAGGED };
+
   private final Executor delegate;
   private final TransactionalCacheManager tcm = new TransactionalCacheManager();
 
@@ -72,13 +91,13 @@ public class CachingExecutor implements Executor {
 
   @Override
   public int update(MappedStatement ms, Object parameterObject) throws SQLException {
-    flushCacheIfRequired(ms);
+    flushCacheIfRequired(ms, parameterObject);
     return delegate.update(ms, parameterObject);
   }
 
   @Override
   public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
-    flushCacheIfRequired(ms);
+    flushCacheIfRequired(ms, parameter);
     return delegate.queryCursor(ms, parameter, rowBounds);
   }
 
@@ -95,14 +114,27 @@ public class CachingExecutor implements Executor {
       CacheKey key, BoundSql boundSql) throws SQLException {
     Cache cache = ms.getCache();
     if (cache != null) {
-      flushCacheIfRequired(ms);
+      flushCacheIfRequired(ms, parameterObject);
       if (ms.isUseCache() && resultHandler == null) {
         ensureNoOutParams(ms, boundSql);
+        CacheTagVersions tagVersions = ms.getConfiguration().getCacheTagVersions(cache.getId());
         @SuppressWarnings("unchecked")
-        List<E> list = (List<E>) tcm.getObject(cache, key);
+        List<E> list = (List<E>) tagVersions.untag(tcm.getObject(cache, key));
         if (list == null) {
-          list = delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
-          tcm.putObject(cache, key, list); // issue #578 and #116
+          String[] tags = ms.getCacheTags(parameterObject);
+          if (tags == null && tagVersions.isInvalidatedByTags()) {
+            tags = UNTAGGED;
+          }
+          // versions are read before the query so that a concurrent invalidation makes its result stale
+          long[] versions = tags == null ? null : tagVersions.getVersions(tags);
+          // a transaction that cleared the cache may see its own uncommitted changes, which must not be shared
+          if (ms.getConfiguration().isCoalesceCacheMisses() && !tcm.isClearOnCommit(cache)
+              && !tcm.isInvalidatingTags(cache) && isShareable(ms, cache)) {
+            list = queryCoalesced(cache, ms, parameterObject, rowBounds, key, boundSql);
+          } else {
+            list = delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
+          }
+          tcm.putObject(cache, key, tags == null ? list : tagVersions.tag(list, tags, versions)); // issue #578 and #116
         }
         return list;
       }
@@ -110,6 +142,92 @@ public class CachingExecutor implements Executor {
     return delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
   }
 
+  /**
+   * Runs the query unless another thread is already running it for the same cache key, in which case its result is
+   * shared. A thread that leads a query never waits for another one, e.g. for a nested query, so waits cannot form a
+   * cycle. A waiting thread gives up after the timeout its own query would have, as the leader may be blocked by the
+   * waiting thread's transaction, e.g. on a row it has locked, and then runs the query itself.
+   */
+  private <E> List<E> queryCoalesced(Cache cache, MappedStatement ms, Object parameterObject, RowBounds rowBounds,
+      CacheKey key, BoundSql boundSql) throws SQLException {
+    InFlightQuery query = new InFlightQuery(cache, key);
+    InFlightQuery leader = inFlightQueries.putIfAbsent(query, query);
+    if (leader == null) {
+      int[] leading = leadingQueries.get();
+      leading[0]++;
+      try {
+        List<E> list = delegate.query(ms, parameterObject, rowBounds, Executor.NO_RESULT_HANDLER, key, boundSql);
+        query.result = list;
+        return list;
+      } finally {
+        leading[0]--;
+        inFlightQueries.remove(query, query);
+        query.done.countDown();
+      }
+    }
+    if (leadingQueries.get()[0] == 0) {
+      @SuppressWarnings("unchecked")
+      List<E> list = (List<E>) leader.await(getCoalescedWaitTimeout(ms));
+      if (list != null) {
+        return list;
+      }
+    }
+    // the leader failed, timed out or cannot be waited for
+    return delegate.query(ms, parameterObject, rowBounds, Executor.NO_RESULT_HANDLER, key, boundSql);
+  }
+
+  private int getCoalescedWaitTimeout(MappedStatement ms) throws SQLException {
+    // the same timeout as the statement would get, see BaseStatementHandler and StatementUtil
+    Integer timeout = ms.getTimeout() != null ? ms.getTimeout() : ms.getConfiguration().getDefaultStatementTimeout();
+    Integer transactionTimeout = delegate.getTransaction().getTimeout();
+    if (transactionTimeout != null && (timeout == null || timeout == 0 || transactionTimeout < timeout)) {
+      timeout = transactionTimeout;
+    }
+    return timeout == null || timeout == 0 ? DEFAULT_COALESCED_WAIT_TIMEOUT : timeout;
+  }
+
+  /**
+   * Coalesced callers get the leader's result objects, which only a read-only cache allows. Nested queries are excluded
+   * because their lazy loaders belong to the leader's session.
+   */
+  private boolean isShareable(MappedStatement ms, Cache cache) {
+    Configuration configuration = ms.getConfiguration();
+    if (!configuration.isReadOnlyCache(cache.getId())) {
+      return false;
+    }
+    Set<String> visited = new HashSet<>();
+    for (ResultMap resultMap : ms.getResultMaps()) {
+      if (hasNestedQueries(configuration, resultMap, visited)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean hasNestedQueries(Configuration configuration, ResultMap resultMap, Set<String> visited) {
+    if (!visited.add(resultMap.getId())) {
+      return false;
+    }
+    if (resultMap.hasNestedQueries()) {
+      return true;
+    }
+    for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+      if (resultMapping.getNestedResultMapId() != null && hasNestedQueries(configuration,
+          configuration.getResultMap(resultMapping.getNestedResultMapId()), visited)) {
+        return true;
+      }
+    }
+    Discriminator discriminator = resultMap.getDiscriminator();
+    if (discriminator != null) {
+      for (String caseResultMapId : discriminator.getDiscriminatorMap().values()) {
+        if (hasNestedQueries(configuration, configuration.getResultMap(caseResultMapId), visited)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   @Override
   public List<BatchResult> flushStatements() throws SQLException {
     return delegate.flushStatements();
@@ -165,10 +283,17 @@ public class CachingExecutor implements Executor {
     delegate.clearLocalCache();
   }
 
-  private void flushCacheIfRequired(MappedStatement ms) {
+  private void flushCacheIfRequired(MappedStatement ms, Object parameterObject) {
     Cache cache = ms.getCache();
     if (cache != null && ms.isFlushCacheRequired()) {
-      tcm.clear(cache);
+      String[] tags = ms.getCacheTags(parameterObject);
+      if (tags == null) {
+        tcm.clear(cache);
+      } else {
+        List<String> invalidatedTags = new ArrayList<>(Arrays.asList(tags));
+        invalidatedTags.add(CacheTagVersions.UNTAGGED);
+        tcm.invalidateTags(cache, ms.getConfiguration().getCacheTagVersions(cache.getId()), invalidatedTags);
+      }
     }
   }
 
@@ -177,4 +302,45 @@ public class CachingExecutor implements Executor {
     throw new UnsupportedOperationException("This method should not be called");
   }
 
+  private static final class InFlightQuery {
+    private final Cache cache;
+    private final CacheKey key;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile List<?> result;
+
+    InFlightQuery(Cache cache, CacheKey key) {
+      this.cache = cache;
+      this.key = key;
+    }
+
+    List<?> await(int timeout) {
+      try {
+        if (!done.await(timeout, TimeUnit.SECONDS)) {
+          return null;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof InFlightQuery)) {
+        return false;
+      }
+      InFlightQuery other = (InFlightQuery) o;
+      return cache == other.cache && key.equals(other.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(cache) * 31 + key.hashCode();
+    }
+  }
+
 }
@@ -19,13 +19,17 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.Configuration;
@@ -38,7 +42,13 @@ import org.apache.ibatis.transaction.Transaction;
  */
 public class ReuseExecutor extends BaseExecutor {
 
-  private final Map<String, Statement> statementMap = new HashMap<>();
+  private static final Log log = LogFactory.getLog(ReuseExecutor.class);
+
+  private final Map<String, Statement> statementMap = new LinkedHashMap<>(16, 0.75f, true);
+  // statements executing or read by an open cursor, which are not evicted
+  private final Set<Statement> statementsInUse = Collections.newSetFromMap(new IdentityHashMap<>());
+  private long statementHits;
+  private long statementMisses;
 
   public ReuseExecutor(Configuration configuration, Transaction transaction) {
     super(configuration, transaction);
@@ -49,7 +59,12 @@ public class ReuseExecutor extends BaseExecutor {
     Configuration configuration = ms.getConfiguration();
     StatementHandler handler = configuration.newStatementHandler(this, ms, parameter, RowBounds.DEFAULT, null, null);
     Statement stmt = prepareStatement(handler, ms.getStatementLog());
-    return handler.update(stmt);
+    statementsInUse.add(stmt);
+    try {
+      return handler.update(stmt);
+    } finally {
+      statementsInUse.remove(stmt);
+    }
   }
 
   @Override
@@ -59,7 +74,12 @@ public class ReuseExecutor extends BaseExecutor {
     StatementHandler handler = configuration.newStatementHandler(wrapper, ms, parameter, rowBounds, resultHandler,
         boundSql);
     Statement stmt = prepareStatement(handler, ms.getStatementLog());
-    return handler.query(stmt, resultHandler);
+    statementsInUse.add(stmt);
+    try {
+      return handler.query(stmt, resultHandler);
+    } finally {
+      statementsInUse.remove(stmt);
+    }
   }
 
   @Override
@@ -68,6 +88,8 @@ public class ReuseExecutor extends BaseExecutor {
     Configuration configuration = ms.getConfiguration();
     StatementHandler handler = configuration.newStatementHandler(wrapper, ms, parameter, rowBounds, null, boundSql);
     Statement stmt = prepareStatement(handler, ms.getStatementLog());
+    // the cursor may be read until the session is flushed
+    statementsInUse.add(stmt);
     return handler.queryCursor(stmt);
   }
 
@@ -77,17 +99,51 @@ public class ReuseExecutor extends BaseExecutor {
       closeStatement(stmt);
     }
     statementMap.clear();
+    statementsInUse.clear();
     return Collections.emptyList();
   }
 
+  @Override
+  public void close(boolean forceRollback) {
+    // the executor is not reachable from the session, so its statistics are only logged
+    if (log.isDebugEnabled() && statementHits + statementMisses > 0) {
+      log.debug("Reused " + statementHits + " and prepared " + statementMisses + " statements.");
+    }
+    super.close(forceRollback);
+  }
+
+  /**
+   * Returns the number of statements that were reused.
+   *
+   * @return the number of statements found open for their SQL
+   *
+   * @since 3.6.0
+   */
+  public long getStatementHits() {
+    return statementHits;
+  }
+
+  /**
+   * Returns the number of statements that were prepared.
+   *
+   * @return the number of statements not found open for their SQL
+   *
+   * @since 3.6.0
+   */
+  public long getStatementMisses() {
+    return statementMisses;
+  }
+
   private Statement prepareStatement(StatementHandler handler, Log statementLog) throws SQLException {
     Statement stmt;
     BoundSql boundSql = handler.getBoundSql();
     String sql = boundSql.getSql();
     if (hasStatementFor(sql)) {
+      statementHits++;
       stmt = getStatement(sql);
       applyTransactionTimeout(stmt);
     } else {
+      statementMisses++;
       Connection connection = getConnection(statementLog);
       stmt = handler.prepare(connection, transaction.getTimeout());
       putStatement(sql, stmt);
@@ -110,7 +166,27 @@ public class ReuseExecutor extends BaseExecutor {
   }
 
   private void putStatement(String sql, Statement stmt) {
-    statementMap.put(sql, stmt);
+    int maxStatements = configuration.getReuseExecutorMaxStatements();
+    if (maxStatements > 0 && statementMap.size() >= maxStatements) {
+      closeLeastRecentlyUsedStatement();
+    }
+    Statement previous = statementMap.put(sql, stmt);
+    if (previous != null && !statementsInUse.contains(previous)) {
+      // replaced because its connection was closed
+      closeStatement(previous);
+    }
+  }
+
+  private void closeLeastRecentlyUsedStatement() {
+    Iterator<Statement> statements = statementMap.values().iterator();
+    while (statements.hasNext()) {
+      Statement statement = statements.next();
+      if (!statementsInUse.contains(statement)) {
+        statements.remove();
+        closeStatement(statement);
+        return;
+      }
+    }
   }
 
 }
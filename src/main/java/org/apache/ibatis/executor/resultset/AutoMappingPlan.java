@@ -0,0 +1,53 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.executor.resultset.DefaultResultSetHandler.UnMappedColumnAutoMapping;
+
+/**
+ * The columns of a result set that are automapped to the properties of a result map, as discovered for a column prefix
+ * and a result set shape. Instances are immutable and shared by all the queries of that shape.
+ *
+ * @since 3.6.0
+ *
+ * @see org.apache.ibatis.session.Configuration#getAutoMappingPlan(String)
+ */
+public final class AutoMappingPlan {
+
+  private final List<UnMappedColumnAutoMapping> autoMappings;
+  private final boolean unknownColumns;
+
+  AutoMappingPlan(List<UnMappedColumnAutoMapping> autoMappings, boolean unknownColumns) {
+    this.autoMappings = Collections.unmodifiableList(autoMappings);
+    this.unknownColumns = unknownColumns;
+  }
+
+  List<UnMappedColumnAutoMapping> getAutoMappings() {
+    return autoMappings;
+  }
+
+  /**
+   * Returns whether some columns matched no property or no type handler, which are reported on every query and so keep
+   * the plan from being shared.
+   */
+  boolean hasUnknownColumns() {
+    return unknownColumns;
+  }
+
+}
@@ -0,0 +1,159 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.apache.ibatis.executor.result.ResultMapException;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.PrimitiveSetterInvoker;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.DoubleResultGetter;
+import org.apache.ibatis.type.IntResultGetter;
+import org.apache.ibatis.type.LongResultGetter;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Maps the rows of a simple result map with the columns, type handlers and setters resolved once for a result set
+ * shape, instead of looking up the columns by name and the properties through a {@code MetaObject} for every row.
+ * Instances are immutable and shared by all the queries returning that result map and shape.
+ *
+ * @since 3.6.0
+ *
+ * @see org.apache.ibatis.session.Configuration#isUseCompiledRowMappers()
+ */
+public final class CompiledRowMapper {
+
+  private final Configuration configuration;
+  private final Class<?> type;
+  private final Column[] columns;
+
+  CompiledRowMapper(Configuration configuration, Class<?> type, List<Column> columns) {
+    this.configuration = configuration;
+    this.type = type;
+    this.columns = columns.toArray(new Column[0]);
+  }
+
+  Object getRowValue(ResultSet rs, ObjectFactory objectFactory) throws SQLException {
+    final boolean callSettersOnNulls = configuration.isCallSettersOnNulls();
+    final Object rowValue = objectFactory.create(type);
+    boolean foundValues = false;
+    for (Column column : columns) {
+      if (column.primitiveSetter != null) {
+        if (column.setPrimitiveValue(rs, rowValue)) {
+          foundValues = true;
+        }
+        continue;
+      }
+      final Object value = column.getValue(rs);
+      if (value != null) {
+        foundValues = true;
+      }
+      if (value != null || callSettersOnNulls && !column.primitive) {
+        // gcode issue #377, call setter on nulls (value is not 'found')
+        column.setValue(rowValue, value);
+      }
+    }
+    return foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
+  }
+
+  static class Column {
+    private final int index;
+    private final String name;
+    private final boolean readByIndex;
+    private final TypeHandler<?> typeHandler;
+    private final String property;
+    private final Invoker setter;
+    private final boolean primitive;
+    private final PrimitiveSetterInvoker primitiveSetter;
+
+    Column(int index, String name, TypeHandler<?> typeHandler, String property, Invoker setter, boolean primitive,
+        PrimitiveSetterInvoker primitiveSetter) {
+      this.index = index;
+      this.name = name;
+      // 0 when the column is read by name
+      this.readByIndex = index > 0;
+      this.typeHandler = typeHandler;
+      this.property = property;
+      this.setter = setter;
+      this.primitive = primitive;
+      // custom subclasses of the built-in handlers may override the boxed getters
+      this.primitiveSetter = primitiveSetter != null && readByIndex
+          && readsPrimitive(typeHandler, primitiveSetter.getType()) ? primitiveSetter : null;
+    }
+
+    private static boolean readsPrimitive(TypeHandler<?> typeHandler, Class<?> type) {
+      return type == int.class && typeHandler instanceof IntResultGetter
+          || type == long.class && typeHandler instanceof LongResultGetter
+          || type == double.class && typeHandler instanceof DoubleResultGetter;
+    }
+
+    private Object getValue(ResultSet rs) throws SQLException {
+      return readByIndex ? typeHandler.getResult(rs, index) : typeHandler.getResult(rs, name);
+    }
+
+    private boolean setPrimitiveValue(ResultSet rs, Object object) {
+      final Class<?> type = primitiveSetter.getType();
+      try {
+        if (type == int.class) {
+          final int value = ((IntResultGetter) typeHandler).getIntResult(rs, index);
+          if (value == 0 && rs.wasNull()) {
+            return false;
+          }
+          primitiveSetter.setInt(object, value);
+        } else if (type == long.class) {
+          final long value = ((LongResultGetter) typeHandler).getLongResult(rs, index);
+          if (value == 0 && rs.wasNull()) {
+            return false;
+          }
+          primitiveSetter.setLong(object, value);
+        } else {
+          final double value = ((DoubleResultGetter) typeHandler).getDoubleResult(rs, index);
+          if (value == 0 && rs.wasNull()) {
+            return false;
+          }
+          primitiveSetter.setDouble(object, value);
+        }
+        return true;
+      } catch (SQLException e) {
+        throw new ResultMapException("Error attempting to get column #" + index + " from result set.  Cause: " + e, e);
+      } catch (ReflectiveOperationException e) {
+        final Throwable t = ExceptionUtil.unwrapThrowable(e);
+        throw new ReflectionException(
+            "Could not set property '" + property + "' of '" + object.getClass() + "' Cause: " + t.toString(), t);
+      }
+    }
+
+    private void setValue(Object object, Object value) {
+      try {
+        try {
+          setter.invoke(object, new Object[] { value });
+        } catch (Throwable t) {
+          throw ExceptionUtil.unwrapThrowable(t);
+        }
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not set property '" + property + "' of '" + object.getClass()
+            + "' with value '" + value + "' Cause: " + t.toString(), t);
+      }
+    }
+  }
+
+}
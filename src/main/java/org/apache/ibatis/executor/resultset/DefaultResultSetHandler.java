@@ -59,8 +59,10 @@ import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.Reflector;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
 import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultContext;
@@ -106,9 +108,13 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private final Map<CacheKey, List<PendingRelation>> pendingRelations = new HashMap<>();
 
   // Cached AutoMappings
-  private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
+  private final Map<String, AutoMappingPlan> autoMappingsCache = new HashMap<>();
   private final Map<String, List<String>> constructorAutoMappingColumns = new HashMap<>();
 
+  // Compiled row mappers of the current result set, null if the result map cannot be compiled
+  private ResultSetWrapper compiledRowMappersResultSet;
+  private final Map<String, CompiledRowMapper> compiledRowMappers = new HashMap<>();
+
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
   private boolean useConstructorMappings;
 
@@ -117,14 +123,17 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     public ResultMapping propertyMapping;
   }
 
-  private static class UnMappedColumnAutoMapping {
+  static class UnMappedColumnAutoMapping {
     private final String column;
+    private final int columnIndex;
     private final String property;
     private final TypeHandler<?> typeHandler;
     private final boolean primitive;
 
-    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive) {
+    public UnMappedColumnAutoMapping(String column, int columnIndex, String property, TypeHandler<?> typeHandler,
+        boolean primitive) {
       this.column = column;
+      this.columnIndex = columnIndex;
       this.property = property;
       this.typeHandler = typeHandler;
       this.primitive = primitive;
@@ -460,6 +469,12 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix, CacheKey parentRowKey)
       throws SQLException {
+    if (columnPrefix == null && parentRowKey == null && configuration.isUseCompiledRowMappers()) {
+      final CompiledRowMapper rowMapper = getCompiledRowMapper(rsw, resultMap);
+      if (rowMapper != null) {
+        return rowMapper.getRowValue(rsw.getResultSet(), objectFactory);
+      }
+    }
     final ResultLoaderMap lazyLoader = new ResultLoaderMap();
     Object rowValue = createResultObject(rsw, resultMap, lazyLoader, columnPrefix, parentRowKey);
     if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
@@ -486,6 +501,105 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return rowValue;
   }
 
+  //
+  // COMPILED ROW MAPPERS
+  //
+
+  private CompiledRowMapper getCompiledRowMapper(ResultSetWrapper rsw, ResultMap resultMap) throws SQLException {
+    if (rsw != compiledRowMappersResultSet) {
+      compiledRowMappers.clear();
+      compiledRowMappersResultSet = rsw;
+    }
+    final String resultMapId = resultMap.getId();
+    CompiledRowMapper rowMapper = compiledRowMappers.get(resultMapId);
+    if (rowMapper == null && !compiledRowMappers.containsKey(resultMapId)) {
+      final String key = resultMapId + ":" + configuration.getAutoMappingBehavior() + ":"
+          + configuration.isMapUnderscoreToCamelCase() + ":" + rsw.getColumnSignature();
+      rowMapper = configuration.getCompiledRowMapper(key);
+      if (rowMapper == null) {
+        rowMapper = compileRowMapper(rsw, resultMap);
+        if (rowMapper != null) {
+          configuration.addCompiledRowMapper(key, rowMapper);
+        }
+      }
+      compiledRowMappers.put(resultMapId, rowMapper);
+    }
+    return rowMapper;
+  }
+
+  private CompiledRowMapper compileRowMapper(ResultSetWrapper rsw, ResultMap resultMap) throws SQLException {
+    if (!isCompilable(rsw, resultMap)) {
+      return null;
+    }
+    final Class<?> resultType = resultMap.getType();
+    final Reflector reflector = reflectorFactory.findForClass(resultType);
+    final List<CompiledRowMapper.Column> columns = new ArrayList<>();
+    if (shouldApplyAutomaticMappings(resultMap, false)) {
+      final MetaObject metaObject = configuration.newMetaObject(objectFactory.create(resultType));
+      final AutoMappingPlan autoMappingPlan = createAutomaticMappings(rsw, resultMap, metaObject, null);
+      if (autoMappingPlan.hasUnknownColumns()) {
+        // a compiled mapper would report them only once
+        return null;
+      }
+      for (UnMappedColumnAutoMapping mapping : autoMappingPlan.getAutoMappings()) {
+        if (!isSimpleProperty(mapping.property)) {
+          return null;
+        }
+        columns.add(new CompiledRowMapper.Column(mapping.columnIndex, mapping.column, mapping.typeHandler,
+            mapping.property, reflector.getSetInvoker(mapping.property), mapping.primitive,
+            reflector.getPrimitiveSetInvoker(mapping.property)));
+      }
+    }
+    final Set<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, null);
+    for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+      final String column = propertyMapping.getColumn();
+      final String property = propertyMapping.getProperty();
+      if (column == null || property == null || !mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
+        continue;
+      }
+      if (!reflector.hasSetter(property)) {
+        return null;
+      }
+      TypeHandler<?> typeHandler = propertyMapping.getTypeHandler();
+      if (typeHandler == null) {
+        typeHandler = rsw.getTypeHandler(reflector.getGenericSetterType(property).getKey(), column);
+        if (typeHandler == null) {
+          // let the default mapping report it
+          return null;
+        }
+      }
+      final int columnIndex = rsw.readsByIndex(typeHandler) ? rsw.getColumnIndex(column) + 1 : 0;
+      columns.add(
+          new CompiledRowMapper.Column(columnIndex, column, typeHandler, property, reflector.getSetInvoker(property),
+              reflector.getSetterType(property).isPrimitive(), reflector.getPrimitiveSetInvoker(property)));
+    }
+    return new CompiledRowMapper(configuration, resultType, columns);
+  }
+
+  private boolean isCompilable(ResultSetWrapper rsw, ResultMap resultMap) {
+    final Class<?> resultType = resultMap.getType();
+    if (resultMap.hasNestedResultMaps() || resultMap.hasNestedQueries()
+        || !resultMap.getConstructorResultMappings().isEmpty() || resultType.isInterface()
+        || Map.class.isAssignableFrom(resultType) || Collection.class.isAssignableFrom(resultType)
+        || hasTypeHandlerForResultObject(rsw, resultType)
+        || !(configuration.getObjectWrapperFactory() instanceof DefaultObjectWrapperFactory)
+        || !MetaClass.forClass(resultType, reflectorFactory).hasDefaultConstructor()) {
+      return false;
+    }
+    for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+      if (propertyMapping.getResultSet() != null || propertyMapping.isCompositeResult()
+          || JdbcType.CURSOR.equals(propertyMapping.getJdbcType())
+          || propertyMapping.getProperty() != null && !isSimpleProperty(propertyMapping.getProperty())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isSimpleProperty(String property) {
+    return property.indexOf('.') == -1 && property.indexOf('[') == -1;
+  }
+
   //
   // GET VALUE FROM ROW FOR NESTED RESULT MAP
   //
@@ -605,7 +719,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
               "No type handler found for '" + javaType + "' and JDBC type '" + rsw.getJdbcType(column) + "'");
         }
       }
-      return typeHandler.getResult(rs, column);
+      return rsw.getValue(typeHandler, column);
     }
   }
 
@@ -622,59 +736,83 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return results;
   }
 
-  private List<UnMappedColumnAutoMapping> createAutomaticMappings(ResultSetWrapper rsw, ResultMap resultMap,
-      MetaObject metaObject, String columnPrefix) throws SQLException {
+  private AutoMappingPlan createAutomaticMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
+      String columnPrefix) throws SQLException {
     final String mapKey = resultMap.getId() + ":" + columnPrefix;
-    List<UnMappedColumnAutoMapping> autoMapping = autoMappingsCache.get(mapKey);
-    if (autoMapping == null) {
-      autoMapping = new ArrayList<>();
-      final List<String> unmappedColumnNames = rsw.getUnmappedColumnNames(resultMap, columnPrefix);
+    AutoMappingPlan plan = autoMappingsCache.get(mapKey);
+    if (plan == null) {
       // Remove the entry to release the memory
       List<String> mappedInConstructorAutoMapping = constructorAutoMappingColumns.remove(mapKey);
       if (mappedInConstructorAutoMapping != null) {
-        unmappedColumnNames.removeAll(mappedInConstructorAutoMapping);
+        rsw.getUnmappedColumnNames(resultMap, columnPrefix).removeAll(mappedInConstructorAutoMapping);
       }
-      for (String columnName : unmappedColumnNames) {
-        String propertyName = columnName;
-        if (columnPrefix != null && !columnPrefix.isEmpty()) {
-          // When columnPrefix is specified,
-          // ignore columns without the prefix.
-          if (!columnName.toUpperCase(Locale.ENGLISH).startsWith(columnPrefix)) {
-            continue;
-          }
-          propertyName = columnName.substring(columnPrefix.length());
+      // queries returning the same columns also map the same columns through the constructor
+      final String planKey = mapKey + ":" + configuration.isMapUnderscoreToCamelCase() + ":"
+          + configuration.isArgNameBasedConstructorAutoMapping() + ":" + rsw.getColumnSignature();
+      plan = configuration.getAutoMappingPlan(planKey);
+      if (plan == null) {
+        plan = discoverAutomaticMappings(rsw, resultMap, metaObject, columnPrefix);
+        if (!plan.hasUnknownColumns()) {
+          // the unknown columns are reported on every query
+          configuration.addAutoMappingPlan(planKey, plan);
         }
-        final String property = metaObject.findProperty(propertyName, configuration.isMapUnderscoreToCamelCase());
-        if (property != null && metaObject.hasSetter(property)) {
-          if (resultMap.getMappedProperties().contains(property)) {
-            continue;
-          }
-          final Type propertyType = metaObject.getGenericSetterType(property).getKey();
-          TypeHandler<?> typeHandler = rsw.getTypeHandler(propertyType, columnName);
-          if (typeHandler != null) {
-            autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, typeHandler,
-                propertyType instanceof Class && ((Class<?>) propertyType).isPrimitive()));
-          } else {
-            configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName, property,
-                propertyType);
-          }
+      }
+      autoMappingsCache.put(mapKey, plan);
+    }
+    return plan;
+  }
+
+  private AutoMappingPlan discoverAutomaticMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
+      String columnPrefix) throws SQLException {
+    final List<UnMappedColumnAutoMapping> autoMapping = new ArrayList<>();
+    boolean unknownColumns = false;
+    final List<String> unmappedColumnNames = rsw.getUnmappedColumnNames(resultMap, columnPrefix);
+    for (String columnName : unmappedColumnNames) {
+      String propertyName = columnName;
+      if (columnPrefix != null && !columnPrefix.isEmpty()) {
+        // When columnPrefix is specified,
+        // ignore columns without the prefix.
+        if (!columnName.toUpperCase(Locale.ENGLISH).startsWith(columnPrefix)) {
+          continue;
+        }
+        propertyName = columnName.substring(columnPrefix.length());
+      }
+      final String property = metaObject.findProperty(propertyName, configuration.isMapUnderscoreToCamelCase());
+      if (property != null && metaObject.hasSetter(property)) {
+        if (resultMap.getMappedProperties().contains(property)) {
+          continue;
+        }
+        final Type propertyType = metaObject.getGenericSetterType(property).getKey();
+        TypeHandler<?> typeHandler = rsw.getTypeHandler(propertyType, columnName);
+        if (typeHandler != null) {
+          // plans are only shared by result sets with the same columns, so is the index
+          final int columnIndex = rsw.readsByIndex(typeHandler) ? rsw.getColumnIndex(columnName) + 1 : 0;
+          autoMapping.add(new UnMappedColumnAutoMapping(columnName, columnIndex, property, typeHandler,
+              propertyType instanceof Class && ((Class<?>) propertyType).isPrimitive()));
         } else {
-          configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName,
-              property != null ? property : propertyName, null);
+          unknownColumns = true;
+          configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName, property,
+              propertyType);
         }
+      } else {
+        unknownColumns = true;
+        configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName,
+            property != null ? property : propertyName, null);
       }
-      autoMappingsCache.put(mapKey, autoMapping);
     }
-    return autoMapping;
+    return new AutoMappingPlan(autoMapping, unknownColumns);
   }
 
   private boolean applyAutomaticMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
       String columnPrefix) throws SQLException {
-    List<UnMappedColumnAutoMapping> autoMapping = createAutomaticMappings(rsw, resultMap, metaObject, columnPrefix);
+    List<UnMappedColumnAutoMapping> autoMapping = createAutomaticMappings(rsw, resultMap, metaObject, columnPrefix)
+        .getAutoMappings();
     boolean foundValues = false;
     if (!autoMapping.isEmpty()) {
       for (UnMappedColumnAutoMapping mapping : autoMapping) {
-        final Object value = mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
+        final Object value = mapping.columnIndex > 0
+            ? mapping.typeHandler.getResult(rsw.getResultSet(), mapping.columnIndex)
+            : mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
         if (value != null) {
           foundValues = true;
         }
@@ -825,7 +963,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           if (typeHandler == null) {
             typeHandler = typeHandlerRegistry.getTypeHandler(constructorMapping.getJavaType(), rsw.getJdbcType(column));
           }
-          value = typeHandler.getResult(rsw.getResultSet(), prependPrefix(column, columnPrefix));
+          value = rsw.getValue(typeHandler, prependPrefix(column, columnPrefix));
         }
       } catch (ResultMapException | SQLException e) {
         throw new ExecutorException("Could not process result for mapping: " + constructorMapping, e);
@@ -921,7 +1059,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       Class<?> parameterType = parameterTypes[i];
       String columnName = rsw.getColumnNames().get(i);
       TypeHandler<?> typeHandler = rsw.getTypeHandler(parameterType, columnName);
-      Object value = typeHandler.getResult(rsw.getResultSet(), columnName);
+      Object value = rsw.getValue(typeHandler, columnName);
       constructorArgTypes.add(parameterType);
       constructorArgs.add(value);
       foundValues = value != null || foundValues;
@@ -942,7 +1080,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         if (columnMatchesParam(columnName, paramName, columnPrefix)) {
           Class<?> paramType = param.getType();
           TypeHandler<?> typeHandler = rsw.getTypeHandler(paramType, columnName);
-          Object value = typeHandler.getResult(rsw.getResultSet(), columnName);
+          Object value = rsw.getValue(typeHandler, columnName);
           constructorArgTypes.add(paramType);
           constructorArgs.add(value);
           final String mapKey = resultMap.getId() + ":" + columnPrefix;
@@ -992,7 +1130,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       columnName = rsw.getColumnNames().get(0);
     }
     final TypeHandler<?> typeHandler = rsw.getTypeHandler(resultType, columnName);
-    return typeHandler.getResult(rsw.getResultSet(), columnName);
+    return rsw.getValue(typeHandler, columnName);
   }
 
   //
@@ -1063,7 +1201,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     // parameterType is ignored in this case
     final String columnName = prependPrefix(resultMapping.getColumn(), columnPrefix);
     final TypeHandler<?> typeHandler = rsw.getTypeHandler(null, columnName);
-    return typeHandler.getResult(rsw.getResultSet(), columnName);
+    return rsw.getValue(typeHandler, columnName);
   }
 
   private Object prepareCompositeKeyParameter(ResultSetWrapper rsw, ResultMapping resultMapping, Class<?> parameterType,
@@ -1076,7 +1214,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       final String columnName = prependPrefix(innerResultMapping.getColumn(), columnPrefix);
       final TypeHandler<?> typeHandler = rsw
           .getTypeHandler(metaObject.getGenericSetterType(innerResultMapping.getProperty()).getKey(), columnName);
-      final Object propValue = typeHandler.getResult(rsw.getResultSet(), columnName);
+      final Object propValue = rsw.getValue(typeHandler, columnName);
       // issue #353 & #560 do not execute nested query if key is null
       if (propValue != null) {
         metaObject.setValue(innerResultMapping.getProperty(), propValue);
@@ -1129,7 +1267,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     if (typeHandler == null) {
       typeHandler = typeHandlerRegistry.getTypeHandler(resultMapping.getJavaType(), rsw.getJdbcType(column));
     }
-    return typeHandler.getResult(rsw.getResultSet(), column);
+    return rsw.getValue(typeHandler, column);
   }
 
   private String prependPrefix(String columnName, String prefix) {
@@ -1547,7 +1685,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           if (th == null) {
             th = ObjectTypeHandler.INSTANCE;
           }
-          final Object value = th.getResult(rsw.getResultSet(), column);
+          final Object value = rsw.getValue(th, column);
           if (value != null || configuration.isReturnInstanceForEmptyRow()) {
             cacheKey.update(column);
             cacheKey.update(value);
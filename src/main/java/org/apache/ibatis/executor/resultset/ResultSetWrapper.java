@@ -35,6 +35,7 @@ import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.ObjectTypeHandler;
 import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
+import org.apache.ibatis.type.UnknownTypeHandler;
 
 /**
  * @author Iwao AVE!
@@ -43,23 +44,32 @@ public class ResultSetWrapper {
 
   private final ResultSet resultSet;
   private final TypeHandlerRegistry typeHandlerRegistry;
+  private final boolean useColumnLabel;
   private final List<String> columnNames = new ArrayList<>();
   private final List<String> classNames = new ArrayList<>();
   private final List<JdbcType> jdbcTypes = new ArrayList<>();
   private final Map<String, Map<Type, TypeHandler<?>>> typeHandlerMap = new HashMap<>();
   private final Map<String, Set<String>> mappedColumnNamesMap = new HashMap<>();
   private final Map<String, List<String>> unMappedColumnNamesMap = new HashMap<>();
+  private final Map<String, Integer> upperCaseColumnIndexes = new HashMap<>();
+  private final Map<String, Integer> columnIndexes = new HashMap<>();
+  private String columnSignature;
 
   public ResultSetWrapper(ResultSet rs, Configuration configuration) throws SQLException {
     this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+    this.useColumnLabel = configuration.isUseColumnLabel();
     this.resultSet = rs;
     final ResultSetMetaData metaData = rs.getMetaData();
     final int columnCount = metaData.getColumnCount();
     for (int i = 1; i <= columnCount; i++) {
-      columnNames.add(configuration.isUseColumnLabel() ? metaData.getColumnLabel(i) : metaData.getColumnName(i));
+      columnNames.add(useColumnLabel ? metaData.getColumnLabel(i) : metaData.getColumnName(i));
       jdbcTypes.add(JdbcType.forCode(metaData.getColumnType(i)));
       classNames.add(metaData.getColumnClassName(i));
     }
+    for (int i = 0; i < columnNames.size(); i++) {
+      // like the drivers, the first of duplicate columns wins
+      upperCaseColumnIndexes.putIfAbsent(columnNames.get(i).toUpperCase(Locale.ENGLISH), i);
+    }
   }
 
   public ResultSet getResultSet() {
@@ -78,6 +88,21 @@ public class ResultSetWrapper {
     return jdbcTypes;
   }
 
+  /**
+   * Returns the labels, JDBC types and class names of the columns, which identify results of the same shape.
+   */
+  String getColumnSignature() {
+    if (columnSignature == null) {
+      final StringBuilder signature = new StringBuilder();
+      for (int i = 0; i < columnNames.size(); i++) {
+        signature.append(columnNames.get(i)).append(':').append(jdbcTypes.get(i)).append(':').append(classNames.get(i))
+            .append(',');
+      }
+      columnSignature = signature.toString();
+    }
+    return columnSignature;
+  }
+
   public JdbcType getJdbcType(String columnName) {
     int columnIndex = getColumnIndex(columnName);
     return columnIndex == -1 ? null : jdbcTypes.get(columnIndex);
@@ -133,13 +158,44 @@ public class ResultSetWrapper {
     return null;
   }
 
-  private int getColumnIndex(String columnName) {
-    for (int i = 0; i < columnNames.size(); i++) {
-      if (columnNames.get(i).equalsIgnoreCase(columnName)) {
-        return i;
-      }
+  int getColumnIndex(String columnName) {
+    Integer index = columnIndexes.get(columnName);
+    if (index == null) {
+      index = upperCaseColumnIndexes.getOrDefault(columnName.toUpperCase(Locale.ENGLISH), -1);
+      columnIndexes.put(columnName, index);
     }
-    return -1;
+    return index;
+  }
+
+  /**
+   * Reads the value of a column. Built-in type handlers read it by index, which saves the driver a search of the column
+   * label for every value. Other type handlers, and the {@link UnknownTypeHandler} that may delegate to them, read it
+   * by name, as some only implement that. So do all type handlers when {@code useColumnLabel} is disabled, as the
+   * indexes are then those of the column names while drivers look up the names read by label.
+   *
+   * @param typeHandler
+   *          the type handler
+   * @param columnName
+   *          the column name
+   *
+   * @return the value
+   *
+   * @throws SQLException
+   *           if the value cannot be read
+   */
+  Object getValue(TypeHandler<?> typeHandler, String columnName) throws SQLException {
+    final int index = readsByIndex(typeHandler) ? getColumnIndex(columnName) : -1;
+    return index == -1 ? typeHandler.getResult(resultSet, columnName) : typeHandler.getResult(resultSet, index + 1);
+  }
+
+  boolean readsByIndex(TypeHandler<?> typeHandler) {
+    return useColumnLabel && canReadByIndex(typeHandler);
+  }
+
+  static boolean canReadByIndex(TypeHandler<?> typeHandler) {
+    // the unknown type handler delegates to a handler resolved from the column, which may be a custom one
+    return TypeHandler.class.getPackageName().equals(typeHandler.getClass().getPackageName())
+        && !(typeHandler instanceof UnknownTypeHandler);
   }
 
   private void loadMappedAndUnmappedColumnNames(ResultMap resultMap, String columnPrefix) throws SQLException {
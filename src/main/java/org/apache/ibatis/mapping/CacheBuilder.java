@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2025 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -24,12 +24,16 @@ import java.util.Properties;
 import org.apache.ibatis.builder.InitializingObject;
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheTagVersions;
+import org.apache.ibatis.cache.ThreadSafeCache;
 import org.apache.ibatis.cache.decorators.BlockingCache;
+import org.apache.ibatis.cache.decorators.ExpiringCache;
 import org.apache.ibatis.cache.decorators.LoggingCache;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.ScheduledCache;
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.impl.ConcurrentPerpetualCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
@@ -46,6 +50,7 @@ public class CacheBuilder {
   private boolean readWrite;
   private Properties properties;
   private boolean blocking;
+  private CacheTagVersions tagVersions;
 
   public CacheBuilder(String id) {
     this.id = id;
@@ -84,6 +89,21 @@ public class CacheBuilder {
     return this;
   }
 
+  /**
+   * Sets the versions of the tags of the results held in the cache, which a blocking cache needs to tell stale results.
+   *
+   * @param tagVersions
+   *          the tag versions
+   *
+   * @return this builder
+   *
+   * @since 3.6.0
+   */
+  public CacheBuilder tagVersions(CacheTagVersions tagVersions) {
+    this.tagVersions = tagVersions;
+    return this;
+  }
+
   public CacheBuilder properties(Properties properties) {
     this.properties = properties;
     return this;
@@ -94,12 +114,21 @@ public class CacheBuilder {
     Cache cache = newBaseCacheInstance(implementation, id);
     setCacheProperties(cache);
     // issue #352, do not apply decorators to custom caches
-    if (PerpetualCache.class.equals(cache.getClass())) {
+    if (PerpetualCache.class.equals(cache.getClass()) || ConcurrentPerpetualCache.class.equals(cache.getClass())) {
+      boolean threadSafe = cache instanceof ThreadSafeCache;
+      if (hasExpiration()) {
+        // below the eviction decorators, so that the entries they evict are forgotten as well
+        cache = new ExpiringCache(cache);
+        setCacheProperties(cache);
+        // its entry map is changed by reads as well as writes
+        threadSafe = false;
+      }
       for (Class<? extends Cache> decorator : decorators) {
         cache = newCacheDecoratorInstance(decorator, cache);
         setCacheProperties(cache);
+        threadSafe = threadSafe && cache instanceof ThreadSafeCache;
       }
-      cache = setStandardDecorators(cache);
+      cache = setStandardDecorators(cache, threadSafe);
     } else if (!LoggingCache.class.isAssignableFrom(cache.getClass())) {
       cache = new LoggingCache(cache);
     }
@@ -115,7 +144,7 @@ public class CacheBuilder {
     }
   }
 
-  private Cache setStandardDecorators(Cache cache) {
+  private Cache setStandardDecorators(Cache cache, boolean threadSafe) {
     try {
       MetaObject metaCache = SystemMetaObject.forObject(cache);
       if (size != null && metaCache.hasSetter("size")) {
@@ -127,11 +156,17 @@ public class CacheBuilder {
       }
       if (readWrite) {
         cache = new SerializedCache(cache);
+        setCacheProperties(cache);
       }
       cache = new LoggingCache(cache);
-      cache = new SynchronizedCache(cache);
+      // the other standard decorators only keep statistics and timestamps, where lost updates are harmless
+      if (!threadSafe) {
+        cache = new SynchronizedCache(cache);
+      }
       if (blocking) {
-        cache = new BlockingCache(cache);
+        BlockingCache blockingCache = new BlockingCache(cache);
+        blockingCache.setTagVersions(tagVersions);
+        cache = blockingCache;
       }
       return cache;
     } catch (Exception e) {
@@ -139,6 +174,11 @@ public class CacheBuilder {
     }
   }
 
+  private boolean hasExpiration() {
+    return properties != null && !decorators.contains(ExpiringCache.class)
+        && (properties.containsKey("timeToLive") || properties.containsKey("timeToIdle"));
+  }
+
   private void setCacheProperties(Cache cache) {
     if (properties != null) {
       MetaObject metaCache = SystemMetaObject.forObject(cache);
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -19,15 +19,21 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.apache.ibatis.builder.StaticSqlSource;
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.parsing.GenericTokenParser;
+import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.ParamNameResolver;
 import org.apache.ibatis.scripting.LanguageDriver;
+import org.apache.ibatis.scripting.defaults.RawSqlSource;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
 
 /**
  * @author Clinton Begin
@@ -59,6 +65,9 @@ public final class MappedStatement {
   private String[] resultSets;
   private ParamNameResolver paramNameResolver;
   private boolean dirtySelect;
+  private String[] cacheTags;
+  private int multiRowInsertSize;
+  private volatile CacheKeyPrefix cacheKeyPrefix;
 
   MappedStatement() {
     // constructor disabled
@@ -184,6 +193,43 @@ public final class MappedStatement {
       return this;
     }
 
+    /**
+     * Sets the cache tags.
+     *
+     * @param cacheTags
+     *          the comma separated tags, which may hold {@code #{property}} placeholders replaced by parameter values
+     *
+     * @return this builder
+     *
+     * @since 3.6.0
+     */
+    public Builder cacheTags(String cacheTags) {
+      String[] tags = delimitedStringToArray(cacheTags);
+      if (tags != null) {
+        for (int i = 0; i < tags.length; i++) {
+          tags[i] = tags[i].trim();
+        }
+      }
+      mappedStatement.cacheTags = tags;
+      return this;
+    }
+
+    /**
+     * Sets the number of rows an insert statement writes at most with one multi-row {@code VALUES} clause, when it is
+     * executed with a collection or an array of rows.
+     *
+     * @param multiRowInsertSize
+     *          the number of rows per statement, or 0 to insert the parameter object as a single row
+     *
+     * @return this builder
+     *
+     * @since 3.6.0
+     */
+    public Builder multiRowInsertSize(int multiRowInsertSize) {
+      mappedStatement.multiRowInsertSize = multiRowInsertSize;
+      return this;
+    }
+
     public Builder paramNameResolver(ParamNameResolver paramNameResolver) {
       mappedStatement.paramNameResolver = paramNameResolver;
       return this;
@@ -311,6 +357,62 @@ public final class MappedStatement {
     return dirtySelect;
   }
 
+  /**
+   * Gets the cache tags as declared.
+   *
+   * @return the cache tags, or null if the statement has none
+   *
+   * @since 3.6.0
+   */
+  public String[] getCacheTags() {
+    return cacheTags;
+  }
+
+  /**
+   * Gets the cache tags with their placeholders replaced by the values of the parameter object.
+   *
+   * @param parameterObject
+   *          the parameter object
+   *
+   * @return the cache tags, or null if the statement has none
+   *
+   * @since 3.6.0
+   */
+  public String[] getCacheTags(Object parameterObject) {
+    if (cacheTags == null) {
+      return null;
+    }
+    String[] tags = new String[cacheTags.length];
+    MetaObject[] metaObject = new MetaObject[1];
+    GenericTokenParser parser = new GenericTokenParser("#{", "}", content -> {
+      if (parameterObject == null) {
+        return "null";
+      }
+      if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+        return String.valueOf(parameterObject);
+      }
+      if (metaObject[0] == null) {
+        metaObject[0] = configuration.newMetaObject(parameterObject);
+      }
+      return String.valueOf(metaObject[0].getValue(content.trim()));
+    });
+    for (int i = 0; i < tags.length; i++) {
+      tags[i] = parser.parse(cacheTags[i]);
+    }
+    return tags;
+  }
+
+  /**
+   * Gets the number of rows written at most by one multi-row insert.
+   *
+   * @return the number of rows per statement, or 0 if the statement is not a multi-row insert
+   *
+   * @since 3.6.0
+   */
+  public int getMultiRowInsertSize() {
+    return multiRowInsertSize;
+  }
+
   public ParamNameResolver getParamNameResolver() {
     return paramNameResolver;
   }
@@ -328,6 +430,9 @@ public final class MappedStatement {
   }
 
   public BoundSql getBoundSql(Object parameterObject) {
+    if (multiRowInsertSize > 0 && parameterObject instanceof List) {
+      return MultiRowInsert.getBoundSql(this, (List<?>) parameterObject);
+    }
     BoundSql boundSql = sqlSource.getBoundSql(parameterObject);
     List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
     if (parameterMappings == null || parameterMappings.isEmpty()) {
@@ -348,6 +453,55 @@ public final class MappedStatement {
     return boundSql;
   }
 
+  /**
+   * Creates a cache key holding the id of this statement, the row bounds and the SQL, in this order. For a statement
+   * with static SQL queried with default row bounds, the key is copied from a prefix computed once.
+   *
+   * @param rowBounds
+   *          the row bounds
+   * @param sql
+   *          the SQL
+   * @param additionalUpdateCount
+   *          the expected number of further updates, e.g. parameter values
+   *
+   * @return a new cache key
+   *
+   * @since 3.6.0
+   */
+  public CacheKey newCacheKey(RowBounds rowBounds, String sql, int additionalUpdateCount) {
+    boolean defaultRowBounds = rowBounds.getOffset() == RowBounds.NO_ROW_OFFSET
+        && rowBounds.getLimit() == RowBounds.NO_ROW_LIMIT;
+    if (defaultRowBounds && (sqlSource instanceof RawSqlSource || sqlSource instanceof StaticSqlSource)) {
+      CacheKeyPrefix prefix = cacheKeyPrefix;
+      if (prefix == null || !prefix.sql.equals(sql)) {
+        CacheKey key = new CacheKey(4);
+        key.update(id);
+        key.update(RowBounds.NO_ROW_OFFSET);
+        key.update(RowBounds.NO_ROW_LIMIT);
+        key.update(sql);
+        prefix = new CacheKeyPrefix(sql, key);
+        cacheKeyPrefix = prefix;
+      }
+      return new CacheKey(prefix.key, additionalUpdateCount);
+    }
+    CacheKey cacheKey = new CacheKey(4 + additionalUpdateCount);
+    cacheKey.update(id);
+    cacheKey.update(rowBounds.getOffset());
+    cacheKey.update(rowBounds.getLimit());
+    cacheKey.update(sql);
+    return cacheKey;
+  }
+
+  private static final class CacheKeyPrefix {
+    private final String sql;
+    private final CacheKey key;
+
+    CacheKeyPrefix(String sql, CacheKey key) {
+      this.sql = sql;
+      this.key = key;
+    }
+  }
+
   private static String[] delimitedStringToArray(String in) {
     if (in == null || in.trim().length() == 0) {
       return null;
@@ -0,0 +1,228 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.mapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Rewrites an insert statement whose {@code VALUES} clause holds one row into a statement that inserts several rows at
+ * once, e.g. {@code INSERT INTO t (a, b) VALUES (?, ?), (?, ?)}.
+ *
+ * @since 3.6.0
+ */
+public final class MultiRowInsert {
+
+  private MultiRowInsert() {
+    // Prevent Instantiation
+  }
+
+  /**
+   * Gets the rows of a parameter object, that is a collection, an array or a parameter map holding only one of them.
+   *
+   * @param parameterObject
+   *          the parameter object
+   *
+   * @return the rows, or null if the parameter object is a single row
+   */
+  public static List<Object> getRows(Object parameterObject) {
+    if (parameterObject instanceof Collection) {
+      return new ArrayList<>((Collection<?>) parameterObject);
+    }
+    if (parameterObject instanceof Object[]) {
+      return Arrays.asList((Object[]) parameterObject);
+    }
+    if (parameterObject instanceof Map && !((Map<?, ?>) parameterObject).isEmpty()) {
+      // a single collection parameter is put in the map under several names
+      Iterator<?> values = ((Map<?, ?>) parameterObject).values().iterator();
+      Object value = values.next();
+      while (values.hasNext()) {
+        if (values.next() != value) {
+          return null;
+        }
+      }
+      if (value instanceof Collection || value instanceof Object[]) {
+        return getRows(value);
+      }
+    }
+    return null;
+  }
+
+  static BoundSql getBoundSql(MappedStatement ms, List<?> rows) {
+    if (rows.isEmpty()) {
+      throw new ExecutorException("Multi-row insert '" + ms.getId() + "' requires at least one row.");
+    }
+    Configuration configuration = ms.getConfiguration();
+    String rowSql = null;
+    int valuesStart = 0;
+    int valuesEnd = 0;
+    int placeholdersBefore = 0;
+    int placeholdersInValues = 0;
+    StringBuilder sql = new StringBuilder();
+    List<ParameterMapping> parameterMappings = new ArrayList<>();
+    List<ParameterMapping> tailMappings = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i++) {
+      Object row = rows.get(i);
+      BoundSql boundSql = ms.getSqlSource().getBoundSql(row);
+      if (rowSql == null) {
+        rowSql = boundSql.getSql();
+        valuesStart = indexOfValues(rowSql);
+        valuesEnd = indexOfClosingParenthesis(rowSql, valuesStart);
+        if (valuesStart < 0 || valuesEnd < 0) {
+          throw new ExecutorException(
+              "Multi-row insert '" + ms.getId() + "' requires a single VALUES (...) clause but the SQL was: " + rowSql);
+        }
+        placeholdersBefore = countPlaceholders(rowSql, 0, valuesStart);
+        placeholdersInValues = countPlaceholders(rowSql, valuesStart, valuesEnd);
+        int placeholders = placeholdersBefore + placeholdersInValues
+            + countPlaceholders(rowSql, valuesEnd, rowSql.length());
+        if (placeholders != boundSql.getParameterMappings().size()) {
+          throw new ExecutorException("Multi-row insert '" + ms.getId() + "' has " + placeholders + " placeholders but "
+              + boundSql.getParameterMappings().size() + " parameter mappings.");
+        }
+        sql.append(rowSql, 0, valuesStart);
+      } else if (!rowSql.equals(boundSql.getSql())) {
+        throw new ExecutorException(
+            "Multi-row insert '" + ms.getId() + "' produced different SQL for row " + i + ": " + boundSql.getSql());
+      } else {
+        sql.append(", ");
+      }
+      sql.append(rowSql, valuesStart, valuesEnd + 1);
+      List<ParameterMapping> rowMappings = boundSql.getParameterMappings();
+      MetaObject[] metaObject = new MetaObject[1];
+      for (int j = 0; j < rowMappings.size(); j++) {
+        boolean values = j >= placeholdersBefore && j < placeholdersBefore + placeholdersInValues;
+        if (values) {
+          parameterMappings.add(bindValue(configuration, boundSql, row, rowMappings.get(j), metaObject));
+        } else if (i == 0) {
+          // parameters outside the VALUES clause are bound once, with the first row
+          ParameterMapping mapping = bindValue(configuration, boundSql, row, rowMappings.get(j), metaObject);
+          if (j < placeholdersBefore) {
+            parameterMappings.add(mapping);
+          } else {
+            tailMappings.add(mapping);
+          }
+        }
+      }
+    }
+    sql.append(rowSql, valuesEnd + 1, rowSql.length());
+    parameterMappings.addAll(tailMappings);
+    return new BoundSql(configuration, sql.toString(), parameterMappings, rows);
+  }
+
+  private static ParameterMapping bindValue(Configuration configuration, BoundSql boundSql, Object row,
+      ParameterMapping parameterMapping, MetaObject[] metaObject) {
+    if (parameterMapping.hasValue()) {
+      return parameterMapping;
+    }
+    String property = parameterMapping.getProperty();
+    Object value;
+    if (boundSql.hasAdditionalParameter(property)) {
+      value = boundSql.getAdditionalParameter(property);
+    } else if (row == null) {
+      value = null;
+    } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(row.getClass())) {
+      value = row;
+    } else {
+      if (metaObject[0] == null) {
+        metaObject[0] = configuration.newMetaObject(row);
+      }
+      value = metaObject[0].getValue(property);
+    }
+    return new ParameterMapping.Builder(configuration, property, parameterMapping.getTypeHandler())
+        .mode(parameterMapping.getMode()).javaType(parameterMapping.getJavaType())
+        .jdbcType(parameterMapping.getJdbcType()).numericScale(parameterMapping.getNumericScale())
+        .resultMapId(parameterMapping.getResultMapId()).jdbcTypeName(parameterMapping.getJdbcTypeName())
+        .expression(parameterMapping.getExpression()).value(value).build();
+  }
+
+  private static int indexOfValues(String sql) {
+    String lowerCaseSql = sql.toLowerCase(Locale.ENGLISH);
+    int index = skipQuoted(sql, 0);
+    while (index < sql.length()) {
+      if (lowerCaseSql.startsWith("values", index) && isBoundary(sql, index - 1)
+          && isBoundary(sql, index + "values".length())) {
+        int open = index + "values".length();
+        while (open < sql.length() && Character.isWhitespace(sql.charAt(open))) {
+          open++;
+        }
+        return open < sql.length() && sql.charAt(open) == '(' ? open : -1;
+      }
+      index = skipQuoted(sql, index + 1);
+    }
+    return -1;
+  }
+
+  private static int indexOfClosingParenthesis(String sql, int open) {
+    if (open < 0) {
+      return -1;
+    }
+    int depth = 0;
+    for (int i = skipQuoted(sql, open); i < sql.length(); i = skipQuoted(sql, i + 1)) {
+      char c = sql.charAt(i);
+      if (c == '(') {
+        depth++;
+      } else if (c == ')' && --depth == 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int countPlaceholders(String sql, int start, int end) {
+    int count = 0;
+    for (int i = skipQuoted(sql, start); i < end; i = skipQuoted(sql, i + 1)) {
+      if (sql.charAt(i) == '?') {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Skips the quoted literals and identifiers starting at the index.
+   */
+  private static int skipQuoted(String sql, int index) {
+    while (index < sql.length()) {
+      char quote = sql.charAt(index);
+      if (quote != '\'' && quote != '"') {
+        return index;
+      }
+      // a doubled quote is an escaped one, so it is skipped as two literals
+      int close = sql.indexOf(quote, index + 1);
+      index = close < 0 ? sql.length() : close + 1;
+    }
+    return index;
+  }
+
+  private static boolean isBoundary(String sql, int index) {
+    if (index < 0 || index >= sql.length()) {
+      return true;
+    }
+    char c = sql.charAt(index);
+    return !Character.isLetterOrDigit(c) && c != '_';
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -40,8 +40,22 @@ public class DefaultReflectorFactory implements ReflectorFactory {
   public Reflector findForClass(Type type) {
     if (classCacheEnabled) {
       // synchronized (type) removed see issue #461
-      return reflectorMap.computeIfAbsent(type, Reflector::new);
+      return reflectorMap.computeIfAbsent(type, this::newReflector);
     }
+    return newReflector(type);
+  }
+
+  /**
+   * Creates the reflector of a type, which is then cached when the class cache is enabled.
+   *
+   * @param type
+   *          the type
+   *
+   * @return the reflector
+   *
+   * @since 3.6.0
+   */
+  protected Reflector newReflector(Type type) {
     return new Reflector(type);
   }
 
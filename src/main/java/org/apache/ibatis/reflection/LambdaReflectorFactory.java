@@ -0,0 +1,38 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.lang.reflect.Type;
+
+import org.apache.ibatis.reflection.invoker.LambdaMethodInvoker;
+
+/**
+ * A reflector factory whose reflectors call the getter and setter methods through {@link LambdaMethodInvoker}s instead
+ * of {@link java.lang.reflect.Method#invoke(Object, Object...)}. Creating a reflector takes longer, as a class is
+ * generated for each method, but getting and setting the properties is faster. Fields are still accessed by reflection.
+ * <p>
+ * It can be configured with {@code <reflectorFactory type="org.apache.ibatis.reflection.LambdaReflectorFactory"/>}.
+ *
+ * @since 3.6.0
+ */
+public class LambdaReflectorFactory extends DefaultReflectorFactory {
+
+  @Override
+  protected Reflector newReflector(Type type) {
+    return new Reflector(type, true);
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -41,7 +41,9 @@ import java.util.Map.Entry;
 import org.apache.ibatis.reflection.invoker.AmbiguousMethodInvoker;
 import org.apache.ibatis.reflection.invoker.GetFieldInvoker;
 import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.LambdaMethodInvoker;
 import org.apache.ibatis.reflection.invoker.MethodInvoker;
+import org.apache.ibatis.reflection.invoker.PrimitiveSetterInvoker;
 import org.apache.ibatis.reflection.invoker.SetFieldInvoker;
 import org.apache.ibatis.reflection.property.PropertyNamer;
 
@@ -60,16 +62,33 @@ public class Reflector {
   private final String[] writablePropertyNames;
   private final Map<String, Invoker> setMethods = new HashMap<>();
   private final Map<String, Invoker> getMethods = new HashMap<>();
+  private final Map<String, PrimitiveSetterInvoker> primitiveSetMethods = new HashMap<>();
   private final Map<String, Entry<Type, Class<?>>> setTypes = new HashMap<>();
   private final Map<String, Entry<Type, Class<?>>> getTypes = new HashMap<>();
   private Constructor<?> defaultConstructor;
 
   private final Map<String, String> caseInsensitivePropertyMap = new HashMap<>();
+  private final boolean useLambdaInvokers;
 
   private static final Entry<Type, Class<?>> nullEntry = new AbstractMap.SimpleImmutableEntry<>(null, null);
 
   public Reflector(Type type) {
+    this(type, false);
+  }
+
+  /**
+   * Creates the reflector of a type.
+   *
+   * @param type
+   *          the type
+   * @param useLambdaInvokers
+   *          whether to call the getter and setter methods through {@link LambdaMethodInvoker}s
+   *
+   * @since 3.6.0
+   */
+  public Reflector(Type type, boolean useLambdaInvokers) {
     this.type = type;
+    this.useLambdaInvokers = useLambdaInvokers;
     if (type instanceof ParameterizedType) {
       this.clazz = (Class<?>) ((ParameterizedType) type).getRawType();
     } else {
@@ -146,9 +165,10 @@ public class Reflector {
   }
 
   private void addGetMethod(String name, Method method, boolean isAmbiguous) {
-    MethodInvoker invoker = isAmbiguous ? new AmbiguousMethodInvoker(method, MessageFormat.format(
+    Invoker invoker = isAmbiguous ? new AmbiguousMethodInvoker(method, MessageFormat.format(
         "Illegal overloaded getter method with ambiguous type for property ''{0}'' in class ''{1}''. This breaks the JavaBeans specification and can cause unpredictable results.",
-        name, method.getDeclaringClass().getName())) : new MethodInvoker(method);
+        name, method.getDeclaringClass().getName()))
+        : useLambdaInvokers ? LambdaMethodInvoker.forGetter(method) : new MethodInvoker(method);
     getMethods.put(name, invoker);
     Type returnType = TypeParameterResolver.resolveReturnType(method, type);
     getTypes.put(name, Map.entry(returnType, typeToClass(returnType)));
@@ -216,10 +236,17 @@ public class Reflector {
   }
 
   private void addSetMethod(String name, Method method) {
-    MethodInvoker invoker = new MethodInvoker(method);
+    Invoker invoker = useLambdaInvokers ? LambdaMethodInvoker.forSetter(method) : new MethodInvoker(method);
     setMethods.put(name, invoker);
     Type[] paramTypes = TypeParameterResolver.resolveParamTypes(method, type);
     setTypes.put(name, Map.entry(paramTypes[0], typeToClass(paramTypes[0])));
+    if (isSpecializedPrimitive(method.getParameterTypes()[0])) {
+      primitiveSetMethods.put(name, new PrimitiveSetterInvoker(method));
+    }
+  }
+
+  private static boolean isSpecializedPrimitive(Class<?> type) {
+    return type == int.class || type == long.class || type == double.class;
   }
 
   private Class<?> typeToClass(Type src) {
@@ -265,6 +292,9 @@ public class Reflector {
       setMethods.put(field.getName(), new SetFieldInvoker(field));
       Type fieldType = TypeParameterResolver.resolveFieldType(field, type);
       setTypes.put(field.getName(), Map.entry(fieldType, typeToClass(fieldType)));
+      if (isSpecializedPrimitive(field.getType())) {
+        primitiveSetMethods.put(field.getName(), new PrimitiveSetterInvoker(field));
+      }
     }
   }
 
@@ -383,6 +413,21 @@ public class Reflector {
     return method;
   }
 
+  /**
+   * Gets an invoker setting the property without boxing the value, when it is an {@code int}, {@code long} or
+   * {@code double}.
+   *
+   * @param propertyName
+   *          the name of the property
+   *
+   * @return the invoker, or {@code null} when the property has no such setter
+   *
+   * @since 3.6.0
+   */
+  public PrimitiveSetterInvoker getPrimitiveSetInvoker(String propertyName) {
+    return primitiveSetMethods.get(propertyName);
+  }
+
   public Invoker getGetInvoker(String propertyName) {
     Invoker method = getMethods.get(propertyName);
     if (method == null) {
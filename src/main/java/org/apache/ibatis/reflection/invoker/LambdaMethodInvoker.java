@@ -0,0 +1,123 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Calls a getter or a setter through a class generated by {@link LambdaMetafactory}, which the JIT compiler can inline
+ * unlike {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * The generated classes implement JDK interfaces only, so that they are visible from the class loader of any bean.
+ *
+ * @since 3.6.0
+ */
+public class LambdaMethodInvoker implements Invoker {
+
+  private final Class<?> type;
+  private final Function<Object, Object> getter;
+  private final BiConsumer<Object, Object> setter;
+
+  private LambdaMethodInvoker(Class<?> type, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+    this.type = type;
+    this.getter = getter;
+    this.setter = setter;
+  }
+
+  /**
+   * Creates an invoker calling a getter.
+   *
+   * @param method
+   *          the getter
+   *
+   * @return the invoker, or a {@link MethodInvoker} when the access rules do not allow to generate one
+   */
+  @SuppressWarnings("unchecked")
+  public static Invoker forGetter(Method method) {
+    Object getter = generate(method, Function.class, "apply", MethodType.methodType(Object.class, Object.class));
+    if (getter == null) {
+      return new MethodInvoker(method);
+    }
+    return new LambdaMethodInvoker(method.getReturnType(), (Function<Object, Object>) getter, null);
+  }
+
+  /**
+   * Creates an invoker calling a setter.
+   *
+   * @param method
+   *          the setter
+   *
+   * @return the invoker, or a {@link MethodInvoker} when the access rules do not allow to generate one
+   */
+  @SuppressWarnings("unchecked")
+  public static Invoker forSetter(Method method) {
+    Object setter = generate(method, BiConsumer.class, "accept",
+        MethodType.methodType(void.class, Object.class, Object.class));
+    if (setter == null) {
+      return new MethodInvoker(method);
+    }
+    return new LambdaMethodInvoker(method.getParameterTypes()[0], null, (BiConsumer<Object, Object>) setter);
+  }
+
+  private static Object generate(Method method, Class<?> interfaceType, String interfaceMethodName,
+      MethodType interfaceMethodType) {
+    if (Modifier.isStatic(method.getModifiers())) {
+      return null;
+    }
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+      MethodHandle handle = lookup.unreflect(method);
+      MethodType instantiatedType = handle.type().wrap();
+      if (interfaceMethodType.returnType() == void.class) {
+        instantiatedType = instantiatedType.changeReturnType(void.class);
+      }
+      CallSite site = LambdaMetafactory.metafactory(lookup, interfaceMethodName, MethodType.methodType(interfaceType),
+          interfaceMethodType, handle, instantiatedType);
+      return site.getTarget().invoke();
+    } catch (Throwable t) {
+      // e.g. a class of a module not open to MyBatis, fall back to reflection
+      return null;
+    }
+  }
+
+  @Override
+  public Object invoke(Object target, Object[] args) throws InvocationTargetException {
+    try {
+      if (getter != null) {
+        return getter.apply(target);
+      }
+      setter.accept(target, args[0]);
+      return null;
+    } catch (Throwable t) {
+      // same as Method.invoke()
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  @Override
+  public Class<?> getType() {
+    return type;
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Sets an {@code int}, {@code long} or {@code double} property through a method handle, so that the value does not have
+ * to be boxed into an argument array. Falls back to reflection when the setter cannot be looked up.
+ *
+ * @since 3.6.0
+ */
+public class PrimitiveSetterInvoker implements Invoker {
+
+  private static final MethodHandle NO_SETTER = MethodHandles.constant(Object.class, null);
+
+  private final AccessibleObject member;
+  private final Class<?> type;
+  private final Invoker delegate;
+  private volatile MethodHandle setter;
+
+  public PrimitiveSetterInvoker(Method method) {
+    this.member = method;
+    this.type = method.getParameterTypes()[0];
+    this.delegate = new MethodInvoker(method);
+  }
+
+  public PrimitiveSetterInvoker(Field field) {
+    this.member = field;
+    this.type = field.getType();
+    this.delegate = new SetFieldInvoker(field);
+  }
+
+  public void setInt(Object target, int value) throws IllegalAccessException, InvocationTargetException {
+    MethodHandle handle = getSetter();
+    if (handle == null) {
+      invoke(target, new Object[] { value });
+      return;
+    }
+    try {
+      handle.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  public void setLong(Object target, long value) throws IllegalAccessException, InvocationTargetException {
+    MethodHandle handle = getSetter();
+    if (handle == null) {
+      invoke(target, new Object[] { value });
+      return;
+    }
+    try {
+      handle.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  public void setDouble(Object target, double value) throws IllegalAccessException, InvocationTargetException {
+    MethodHandle handle = getSetter();
+    if (handle == null) {
+      invoke(target, new Object[] { value });
+      return;
+    }
+    try {
+      handle.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  @Override
+  public Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException {
+    return delegate.invoke(target, args);
+  }
+
+  @Override
+  public Class<?> getType() {
+    return type;
+  }
+
+  private MethodHandle getSetter() {
+    MethodHandle handle = setter;
+    if (handle == null) {
+      // a race only looks the setter up twice
+      handle = lookupSetter();
+      setter = handle;
+    }
+    return handle == NO_SETTER ? null : handle;
+  }
+
+  private MethodHandle lookupSetter() {
+    try {
+      return unreflect();
+    } catch (IllegalAccessException e) {
+      if (Reflector.canControlMemberAccessible()) {
+        try {
+          member.setAccessible(true);
+          return unreflect();
+        } catch (IllegalAccessException | RuntimeException e2) {
+          // fall back to reflection
+        }
+      }
+    } catch (RuntimeException e) {
+      // e.g. a static setter, fall back to reflection
+    }
+    return NO_SETTER;
+  }
+
+  private MethodHandle unreflect() throws IllegalAccessException {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodHandle handle = member instanceof Method ? lookup.unreflect((Method) member)
+        : lookup.unreflectSetter((Field) member);
+    return handle.asType(MethodType.methodType(void.class, Object.class, type));
+  }
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -36,10 +36,17 @@ import org.apache.ibatis.builder.ResultMapResolver;
 import org.apache.ibatis.builder.annotation.MethodResolver;
 import org.apache.ibatis.builder.xml.XMLStatementBuilder;
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheTagVersions;
+import org.apache.ibatis.cache.decorators.ConcurrentFifoCache;
+import org.apache.ibatis.cache.decorators.ConcurrentLruCache;
 import org.apache.ibatis.cache.decorators.FifoCache;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.SoftCache;
+import org.apache.ibatis.cache.decorators.TinyLfuCache;
 import org.apache.ibatis.cache.decorators.WeakCache;
+import org.apache.ibatis.cache.decorators.WeightedCache;
+import org.apache.ibatis.cache.impl.ConcurrentPerpetualCache;
+import org.apache.ibatis.cache.impl.OffHeapCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.datasource.jndi.JndiDataSourceFactory;
 import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
@@ -54,6 +61,8 @@ import org.apache.ibatis.executor.loader.ProxyFactory;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
 import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.resultset.AutoMappingPlan;
+import org.apache.ibatis.executor.resultset.CompiledRowMapper;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
 import org.apache.ibatis.executor.statement.RoutingStatementHandler;
@@ -102,6 +111,8 @@ import org.apache.ibatis.type.TypeHandlerRegistry;
  */
 public class Configuration {
 
+  private static final int MAX_MAPPING_PLANS = 1024;
+
   protected Environment environment;
 
   protected boolean safeRowBoundsEnabled;
@@ -117,6 +128,13 @@ public class Configuration {
   protected boolean shrinkWhitespacesInSql;
   protected boolean nullableOnForEach;
   protected boolean argNameBasedConstructorAutoMapping;
+  protected boolean coalesceCacheMisses;
+  protected boolean groupBatchStatements;
+  protected int batchSize;
+  protected boolean discardBatchParameterObjects;
+  protected boolean asyncBatchFlush;
+  protected int reuseExecutorMaxStatements;
+  protected boolean useCompiledRowMappers;
 
   protected String logPrefix;
   protected Class<? extends Log> logImpl;
@@ -160,7 +178,11 @@ public class Configuration {
           .conflictMessageProducer((savedValue, targetValue) -> ". please check " + savedValue.getResource() + " and "
               + targetValue.getResource());
   protected final Map<String, Cache> caches = new StrictMap<>("Caches collection");
+  protected final Map<String, CacheTagVersions> cacheTagVersions = new ConcurrentHashMap<>();
+  protected final Set<String> readOnlyCaches = ConcurrentHashMap.newKeySet();
   protected final Map<String, ResultMap> resultMaps = new StrictMap<>("Result Maps collection");
+  protected final Map<String, CompiledRowMapper> compiledRowMappers = new ConcurrentHashMap<>();
+  protected final Map<String, AutoMappingPlan> autoMappingPlans = new ConcurrentHashMap<>();
   protected final Map<String, ParameterMap> parameterMaps = new StrictMap<>("Parameter Maps collection");
   protected final Map<String, KeyGenerator> keyGenerators = new StrictMap<>("Key Generators collection");
 
@@ -198,6 +220,12 @@ public class Configuration {
     typeAliasRegistry.registerAlias("PERPETUAL", PerpetualCache.class);
     typeAliasRegistry.registerAlias("FIFO", FifoCache.class);
     typeAliasRegistry.registerAlias("LRU", LruCache.class);
+    typeAliasRegistry.registerAlias("TINYLFU", TinyLfuCache.class);
+    typeAliasRegistry.registerAlias("WEIGHTED", WeightedCache.class);
+    typeAliasRegistry.registerAlias("CONCURRENT", ConcurrentPerpetualCache.class);
+    typeAliasRegistry.registerAlias("OFFHEAP", OffHeapCache.class);
+    typeAliasRegistry.registerAlias("CONCURRENT_FIFO", ConcurrentFifoCache.class);
+    typeAliasRegistry.registerAlias("CONCURRENT_LRU", ConcurrentLruCache.class);
     typeAliasRegistry.registerAlias("SOFT", SoftCache.class);
     typeAliasRegistry.registerAlias("WEAK", WeakCache.class);
 
@@ -341,6 +369,185 @@ public class Configuration {
     this.argNameBasedConstructorAutoMapping = argNameBasedConstructorAutoMapping;
   }
 
+  /**
+   * Returns whether concurrent second level cache misses on the same key share a single query.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If coalesced, set to {@code true}
+   *
+   * @since 3.6.0
+   */
+  public boolean isCoalesceCacheMisses() {
+    return coalesceCacheMisses;
+  }
+
+  /**
+   * Sets whether concurrent second level cache misses on the same key share a single query.
+   *
+   * @param coalesceCacheMisses
+   *          If coalesced, set to {@code true}
+   *
+   * @since 3.6.0
+   */
+  public void setCoalesceCacheMisses(boolean coalesceCacheMisses) {
+    this.coalesceCacheMisses = coalesceCacheMisses;
+  }
+
+  /**
+   * Returns whether the batch executor groups the rows of interleaved statements into one JDBC batch per statement.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If grouped, set to {@code true}
+   *
+   * @since 3.6.0
+   */
+  public boolean isGroupBatchStatements() {
+    return groupBatchStatements;
+  }
+
+  /**
+   * Sets whether the batch executor groups the rows of interleaved statements into one JDBC batch per statement.
+   *
+   * @param groupBatchStatements
+   *          If grouped, set to {@code true}
+   *
+   * @since 3.6.0
+   */
+  public void setGroupBatchStatements(boolean groupBatchStatements) {
+    this.groupBatchStatements = groupBatchStatements;
+  }
+
+  /**
+   * Returns the number of rows after which the batch executor executes its pending batches, without waiting for a flush
+   * or a commit.
+   * <p>
+   * Default is {@code 0}.
+   *
+   * @return the number of rows, or {@code 0} if batches are only executed on flush
+   *
+   * @since 3.6.0
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Sets the number of rows after which the batch executor executes its pending batches, without waiting for a flush or
+   * a commit.
+   *
+   * @param batchSize
+   *          the number of rows, or {@code 0} to execute batches only on flush
+   *
+   * @since 3.6.0
+   */
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Returns whether the batch executor drops the parameter objects of the rows it has executed from its batch results.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If dropped, set to {@code true}
+   *
+   * @since 3.6.0
+   */
+  public boolean isDiscardBatchParameterObjects() {
+    return discardBatchParameterObjects;
+  }
+
+  /**
+   * Sets whether the batch executor drops the parameter objects of the rows it has executed from its batch results.
+   *
+   * @param discardBatchParameterObjects
+   *          If dropped, set to {@code true}
+   *
+   * @since 3.6.0
+   */
+  public void setDiscardBatchParameterObjects(boolean discardBatchParameterObjects) {
+    this.discardBatchParameterObjects = discardBatchParameterObjects;
+  }
+
+  /**
+   * Returns whether the batch executor executes the batches it flushes every {@link #getBatchSize()} rows in the
+   * background.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If executed in the background, set to {@code true}
+   *
+   * @since 3.6.0
+   */
+  public boolean isAsyncBatchFlush() {
+    return asyncBatchFlush;
+  }
+
+  /**
+   * Sets whether the batch executor executes the batches it flushes every {@link #getBatchSize()} rows in the
+   * background.
+   *
+   * @param asyncBatchFlush
+   *          If executed in the background, set to {@code true}
+   *
+   * @since 3.6.0
+   */
+  public void setAsyncBatchFlush(boolean asyncBatchFlush) {
+    this.asyncBatchFlush = asyncBatchFlush;
+  }
+
+  /**
+   * Returns the maximum number of statements a reuse executor keeps open.
+   * <p>
+   * Default is {@code 0}.
+   *
+   * @return the maximum number of statements, or 0 if unbounded
+   *
+   * @since 3.6.0
+   */
+  public int getReuseExecutorMaxStatements() {
+    return reuseExecutorMaxStatements;
+  }
+
+  /**
+   * Sets the maximum number of statements a reuse executor keeps open.
+   *
+   * @param reuseExecutorMaxStatements
+   *          the maximum number of statements, or 0 if unbounded
+   *
+   * @since 3.6.0
+   */
+  public void setReuseExecutorMaxStatements(int reuseExecutorMaxStatements) {
+    this.reuseExecutorMaxStatements = reuseExecutorMaxStatements;
+  }
+
+  /**
+   * Returns whether rows of simple result maps are mapped by row mappers compiled once per result map and column shape.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return {@code true} if compiled row mappers are used
+   *
+   * @since 3.6.0
+   */
+  public boolean isUseCompiledRowMappers() {
+    return useCompiledRowMappers;
+  }
+
+  /**
+   * Sets whether rows of simple result maps are mapped by row mappers compiled once per result map and column shape.
+   *
+   * @param useCompiledRowMappers
+   *          {@code true} to use compiled row mappers
+   *
+   * @since 3.6.0
+   */
+  public void setUseCompiledRowMappers(boolean useCompiledRowMappers) {
+    this.useCompiledRowMappers = useCompiledRowMappers;
+  }
+
   public String getDatabaseId() {
     return databaseId;
   }
@@ -788,6 +995,116 @@ public class Configuration {
     return caches.containsKey(id);
   }
 
+  /**
+   * Marks a cache as read-only, meaning that its results may be shared by all the sessions.
+   *
+   * @param id
+   *          the cache id
+   *
+   * @since 3.6.0
+   */
+  public void addReadOnlyCache(String id) {
+    readOnlyCaches.add(id);
+  }
+
+  /**
+   * Returns whether a cache was declared read-only.
+   *
+   * @param id
+   *          the cache id
+   *
+   * @return {@code true} if its results may be shared by all the sessions
+   *
+   * @since 3.6.0
+   */
+  public boolean isReadOnlyCache(String id) {
+    return readOnlyCaches.contains(id);
+  }
+
+  /**
+   * Gets the versions of the tags of the results held in a cache.
+   *
+   * @param id
+   *          the cache id
+   *
+   * @return the tag versions
+   *
+   * @since 3.6.0
+   */
+  public CacheTagVersions getCacheTagVersions(String id) {
+    return cacheTagVersions.computeIfAbsent(id, k -> new CacheTagVersions());
+  }
+
+  /**
+   * Gets a row mapper compiled for a result map and the columns of a result set.
+   *
+   * @param key
+   *          the result map id, the automapping settings and the column signature
+   *
+   * @return the row mapper, or {@code null} if none has been compiled for the key
+   *
+   * @since 3.6.0
+   */
+  public CompiledRowMapper getCompiledRowMapper(String key) {
+    return compiledRowMappers.get(key);
+  }
+
+  /**
+   * Keeps a row mapper compiled for a result map and the columns of a result set. At most 1024 mappers are kept, so
+   * that statements selecting ever changing columns cannot grow this configuration without bounds.
+   *
+   * @param key
+   *          the result map id, the automapping settings and the column signature
+   * @param rowMapper
+   *          the row mapper
+   *
+   * @since 3.6.0
+   */
+  public void addCompiledRowMapper(String key, CompiledRowMapper rowMapper) {
+    putMappingPlan(compiledRowMappers, key, rowMapper);
+  }
+
+  /**
+   * Gets the automatic mappings discovered for a result map, a column prefix and the columns of a result set.
+   *
+   * @param key
+   *          the result map id, the column prefix, the automapping settings and the column signature
+   *
+   * @return the automatic mappings, or {@code null} if none have been discovered for the key
+   *
+   * @since 3.6.0
+   */
+  public AutoMappingPlan getAutoMappingPlan(String key) {
+    return autoMappingPlans.get(key);
+  }
+
+  /**
+   * Keeps the automatic mappings discovered for a result map, a column prefix and the columns of a result set, so that
+   * later queries skip the discovery. At most 1024 plans are kept.
+   *
+   * @param key
+   *          the result map id, the column prefix, the automapping settings and the column signature
+   * @param plan
+   *          the automatic mappings
+   *
+   * @since 3.6.0
+   */
+  public void addAutoMappingPlan(String key, AutoMappingPlan plan) {
+    putMappingPlan(autoMappingPlans, key, plan);
+  }
+
+  private static <V> void putMappingPlan(Map<String, V> plans, String key, V plan) {
+    if (plans.size() >= MAX_MAPPING_PLANS && !plans.containsKey(key)) {
+      // drop any plan rather than the new one, it is rediscovered if still used
+      Iterator<String> keys = plans.keySet().iterator();
+      if (keys.hasNext()) {
+        keys.next();
+        keys.remove();
+      }
+    }
+    plans.putIfAbsent(key, plan);
+  }
+
   public void addResultMap(ResultMap rm) {
     resultMaps.put(rm.getId(), rm);
     checkLocallyForDiscriminatedNestedResultMaps(rm);
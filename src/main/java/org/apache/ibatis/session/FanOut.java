@@ -0,0 +1,285 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.apache.ibatis.exceptions.ExceptionFactory;
+import org.apache.ibatis.executor.ErrorContext;
+
+/**
+ * Runs independent calls concurrently, each with its own session, and so its own connection, opened from a
+ * {@link SqlSessionFactory}.
+ *
+ * <pre>
+ * FanOut fanOut = sqlSessionFactory.fanOut().timeout(2, TimeUnit.SECONDS);
+ * FanOut.Call&lt;Blog&gt; blog = fanOut.add(session -&gt; session.getMapper(BlogMapper.class).selectBlog(1));
+ * FanOut.Call&lt;List&lt;Post&gt;&gt; posts = fanOut.add(session -&gt; session.getMapper(PostMapper.class).selectPosts(1));
+ * fanOut.execute();
+ * render(blog.get(), posts.get());
+ * </pre>
+ * <p>
+ * Sessions are opened and closed by the calls, without commit, so the calls should only read. They go through the
+ * configured plugins like any other session. Calls run on virtual threads when the JVM supports them, and on a shared
+ * pool of daemon threads otherwise.
+ *
+ * @since 3.6.0
+ */
+public class FanOut {
+
+  private final SqlSessionFactory sqlSessionFactory;
+  private final List<Call<?>> calls = new ArrayList<>();
+  private ExecutorService executorService;
+  private ExecutorType executorType;
+  private long timeoutNanos;
+
+  public FanOut(SqlSessionFactory sqlSessionFactory) {
+    this.sqlSessionFactory = sqlSessionFactory;
+  }
+
+  /**
+   * Sets the executor service running the calls.
+   *
+   * @param executorService
+   *          the executor service, or null to use the default one
+   *
+   * @return this fan-out
+   */
+  public FanOut executorService(ExecutorService executorService) {
+    this.executorService = executorService;
+    return this;
+  }
+
+  /**
+   * Sets the executor type of the sessions.
+   *
+   * @param executorType
+   *          the executor type, or null to use the default one
+   *
+   * @return this fan-out
+   */
+  public FanOut executorType(ExecutorType executorType) {
+    this.executorType = executorType;
+    return this;
+  }
+
+  /**
+   * Sets the time each call is given to complete when it has no timeout of its own.
+   *
+   * @param timeout
+   *          the timeout, or 0 to wait without limit
+   * @param unit
+   *          the time unit of the timeout
+   *
+   * @return this fan-out
+   */
+  public FanOut timeout(long timeout, TimeUnit unit) {
+    this.timeoutNanos = unit.toNanos(timeout);
+    return this;
+  }
+
+  /**
+   * Adds a call.
+   *
+   * @param <T>
+   *          the result type
+   * @param function
+   *          the call, which is given a session of its own
+   *
+   * @return the call, which holds its result once executed
+   */
+  public <T> Call<T> add(Function<SqlSession, T> function) {
+    return add(function, -1, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Adds a call with a timeout of its own.
+   * <p>
+   * A call that times out is abandoned: its session is closed once its current statement returns, so the statement
+   * timeout should also be set to stop the work of the database.
+   *
+   * @param <T>
+   *          the result type
+   * @param function
+   *          the call, which is given a session of its own
+   * @param timeout
+   *          the timeout, or 0 to wait without limit
+   * @param unit
+   *          the time unit of the timeout
+   *
+   * @return the call, which holds its result once executed
+   */
+  public <T> Call<T> add(Function<SqlSession, T> function, long timeout, TimeUnit unit) {
+    Call<T> call = new Call<>(calls.size(), function, timeout < 0 ? -1 : unit.toNanos(timeout));
+    calls.add(call);
+    return call;
+  }
+
+  /**
+   * Runs all the calls concurrently and waits for their results.
+   * <p>
+   * The first call to fail or to time out makes this method throw at once, and the calls still running are abandoned.
+   * An exception thrown by a session is rethrown as is, any other failure is wrapped in a
+   * {@link org.apache.ibatis.exceptions.PersistenceException}.
+   */
+  public void execute() {
+    ExecutorService service = executorService == null ? DefaultExecutorService.INSTANCE : executorService;
+    CompletableFuture<Void> failure = new CompletableFuture<>();
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[calls.size()];
+    for (int i = 0; i < futures.length; i++) {
+      Call<?> call = calls.get(i);
+      CompletableFuture<?> future = CompletableFuture.runAsync(call::run, service);
+      long callTimeoutNanos = call.timeoutNanos < 0 ? timeoutNanos : call.timeoutNanos;
+      if (callTimeoutNanos > 0) {
+        future = future.orTimeout(callTimeoutNanos, TimeUnit.NANOSECONDS);
+      }
+      futures[i] = future.whenComplete((result, t) -> {
+        if (t != null) {
+          failure.completeExceptionally(new CallFailure(call, t));
+        }
+      });
+    }
+    try {
+      CompletableFuture.anyOf(CompletableFuture.allOf(futures), failure).get();
+    } catch (ExecutionException e) {
+      throw translate(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw translate(e);
+    } finally {
+      for (CompletableFuture<?> future : futures) {
+        future.cancel(true);
+      }
+      ErrorContext.instance().reset();
+    }
+  }
+
+  private RuntimeException translate(Throwable t) {
+    if (t instanceof InterruptedException) {
+      return ExceptionFactory.wrapException("Interrupted while waiting for the calls of a fan-out.", (Exception) t);
+    }
+    while (t instanceof CompletionException && t.getCause() != null) {
+      t = t.getCause();
+    }
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    if (!(t instanceof CallFailure)) {
+      return ExceptionFactory.wrapException("Error executing a fan-out.", (Exception) t);
+    }
+    Call<?> call = ((CallFailure) t).call;
+    Throwable cause = t.getCause();
+    while (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof TimeoutException) {
+      return ExceptionFactory.wrapException("Call #" + (call.index + 1) + " of a fan-out timed out.",
+          (Exception) cause);
+    }
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return ExceptionFactory.wrapException("Error executing call #" + (call.index + 1) + " of a fan-out.",
+        (Exception) cause);
+  }
+
+  /**
+   * A call of a fan-out, which holds its result once the fan-out is executed.
+   *
+   * @param <T>
+   *          the result type
+   */
+  public final class Call<T> {
+
+    private final int index;
+    private final Function<SqlSession, T> function;
+    private final long timeoutNanos;
+    private volatile boolean done;
+    private volatile T result;
+
+    private Call(int index, Function<SqlSession, T> function, long timeoutNanos) {
+      this.index = index;
+      this.function = function;
+      this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * Gets the result of the call.
+     *
+     * @return the result
+     *
+     * @throws IllegalStateException
+     *           if the call has not completed
+     */
+    public T get() {
+      if (!done) {
+        throw new IllegalStateException("Call #" + (index + 1) + " of the fan-out has not completed.");
+      }
+      return result;
+    }
+
+    private void run() {
+      try (SqlSession session = executorType == null ? sqlSessionFactory.openSession()
+          : sqlSessionFactory.openSession(executorType)) {
+        result = function.apply(session);
+        done = true;
+      } finally {
+        ErrorContext.instance().reset();
+      }
+    }
+
+  }
+
+  private static final class CallFailure extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private final transient Call<?> call;
+
+    CallFailure(Call<?> call, Throwable cause) {
+      super(cause);
+      this.call = call;
+    }
+  }
+
+  private static final class DefaultExecutorService {
+    private static final ExecutorService INSTANCE = create();
+
+    private static ExecutorService create() {
+      try {
+        // Java 21+
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (ReflectiveOperationException e) {
+        return Executors.newCachedThreadPool(runnable -> {
+          Thread thread = new Thread(runnable, "mybatis-fan-out");
+          thread.setDaemon(true);
+          return thread;
+        });
+      }
+    }
+  }
+
+}
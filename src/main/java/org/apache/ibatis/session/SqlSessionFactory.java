@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -42,4 +42,15 @@ public interface SqlSessionFactory {
 
   Configuration getConfiguration();
 
+  /**
+   * Creates a fan-out running calls concurrently, each with its own session opened from this factory.
+   *
+   * @return a new fan-out
+   *
+   * @since 3.6.0
+   */
+  default FanOut fanOut() {
+    return new FanOut(this);
+  }
+
 }
@@ -0,0 +1,47 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A type handler that can also read its results as a {@code double}, which lets the result mapping set a {@code double}
+ * property without boxing the value.
+ *
+ * @since 3.6.0
+ *
+ * @see DoubleTypeHandler
+ */
+public interface DoubleResultGetter {
+
+  /**
+   * Gets a result as a {@code double}.
+   *
+   * @param rs
+   *          the result set
+   * @param columnIndex
+   *          the column index
+   *
+   * @return the value, or {@code 0} for a SQL {@code NULL}, which the caller tells apart with
+   *         {@link ResultSet#wasNull()}
+   *
+   * @throws SQLException
+   *           if the value cannot be read
+   */
+  double getDoubleResult(ResultSet rs, int columnIndex) throws SQLException;
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -110,6 +110,13 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isFalse();
       assertThat(config.getDefaultSqlProviderType()).isNull();
       assertThat(config.isNullableOnForEach()).isFalse();
+      assertThat(config.isCoalesceCacheMisses()).isFalse();
+      assertThat(config.isGroupBatchStatements()).isFalse();
+      assertThat(config.getBatchSize()).isEqualTo(0);
+      assertThat(config.isDiscardBatchParameterObjects()).isFalse();
+      assertThat(config.isAsyncBatchFlush()).isFalse();
+      assertThat(config.getReuseExecutorMaxStatements()).isEqualTo(0);
+      assertThat(config.isUseCompiledRowMappers()).isFalse();
     }
   }
 
@@ -215,6 +222,13 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isTrue();
       assertThat(config.getDefaultSqlProviderType().getName()).isEqualTo(MySqlProvider.class.getName());
       assertThat(config.isNullableOnForEach()).isTrue();
+      assertThat(config.isCoalesceCacheMisses()).isTrue();
+      assertThat(config.isGroupBatchStatements()).isTrue();
+      assertThat(config.getBatchSize()).isEqualTo(1000);
+      assertThat(config.isDiscardBatchParameterObjects()).isTrue();
+      assertThat(config.isAsyncBatchFlush()).isTrue();
+      assertThat(config.getReuseExecutorMaxStatements()).isEqualTo(50);
+      assertThat(config.isUseCompiledRowMappers()).isTrue();
 
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blogauthor")).isEqualTo(Author.class);
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blog")).isEqualTo(Blog.class);
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -108,6 +108,39 @@ class CacheKeyTest {
     assertEquals(cacheKey.hashCode(), clonedCacheKey.hashCode());
   }
 
+  @Test
+  void shouldTestCacheKeysBuiltOnPrefixEqual() {
+    CacheKey prefix = new CacheKey(new Object[] { "statement", 0, Integer.MAX_VALUE, "select 1" });
+    CacheKey key1 = new CacheKey(prefix, 2);
+    key1.update("param");
+    key1.update("env");
+    CacheKey key2 = new CacheKey(new Object[] { "statement", 0, Integer.MAX_VALUE, "select 1", "param", "env" });
+    assertEquals(key1, key2);
+    assertEquals(key1.hashCode(), key2.hashCode());
+    assertEquals(4, prefix.getUpdateCount());
+  }
+
+  @Test
+  void shouldGrowBeyondExpectedUpdateCount() {
+    CacheKey key1 = new CacheKey(1);
+    CacheKey key2 = new CacheKey();
+    for (int i = 0; i < 100; i++) {
+      key1.update(i);
+      key2.update(i);
+    }
+    assertEquals(100, key1.getUpdateCount());
+    assertEquals(key1, key2);
+  }
+
+  @Test
+  void shouldNotShareUpdatesWithClone() throws Exception {
+    CacheKey cacheKey = new CacheKey(new Object[] { "a", "b" });
+    CacheKey clonedCacheKey = cacheKey.clone();
+    clonedCacheKey.update("c");
+    assertEquals(2, cacheKey.getUpdateCount());
+    assertNotEquals(cacheKey, clonedCacheKey);
+  }
+
   @Test
   void serializationExceptionTest() {
     CacheKey cacheKey = new CacheKey();
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -18,12 +18,18 @@ package org.apache.ibatis.cache;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.serializer.CompactCacheSerializer;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
 import org.junit.jupiter.api.Test;
 
 class SerializedCacheTest {
@@ -56,6 +62,41 @@ class SerializedCacheTest {
     assertThrows(CacheException.class, () -> cache.putObject(0, new CachingObjectWithoutSerializable(0)));
   }
 
+  @Test
+  void shouldDemonstrateCompactSerializedObjectAreEqual() {
+    SerializedCache cache = new SerializedCache(new PerpetualCache("default"));
+    cache.setSerializer("compact");
+    List<CachingObject> list = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      list.add(new CachingObject(i));
+      cache.putObject(i, new CachingObject(i));
+    }
+    cache.putObject("list", list);
+    cache.putObject("null", null);
+    for (int i = 0; i < 5; i++) {
+      assertEquals(new CachingObject(i), cache.getObject(i));
+    }
+    assertEquals(list, cache.getObject("list"));
+    assertNull(cache.getObject("null"));
+  }
+
+  @Test
+  void shouldWriteClassDescriptorsOnlyOnceWithCompactSerializer() {
+    List<CachingObject> list = Arrays.asList(new CachingObject(1), new CachingObject(2));
+    CompactCacheSerializer compact = new CompactCacheSerializer();
+    compact.serialize(new ArrayList<>(list));
+    byte[] compactBytes = compact.serialize(new ArrayList<>(list));
+    byte[] javaBytes = new JavaCacheSerializer().serialize(new ArrayList<>(list));
+    assertTrue(compactBytes.length * 2 < javaBytes.length);
+    assertEquals(list, compact.deserialize(compactBytes));
+  }
+
+  @Test
+  void throwExceptionWhenReadingValueOfAnotherCompactSerializer() {
+    byte[] bytes = new CompactCacheSerializer().serialize(new CachingObject(0));
+    assertThrows(CacheException.class, () -> new CompactCacheSerializer().deserialize(bytes));
+  }
+
   static class CachingObject implements Serializable {
     private static final long serialVersionUID = 1L;
     int x;
@@ -0,0 +1,114 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.ibatis.cache.decorators.SerializedCache;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.decorators.WeightedCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.junit.jupiter.api.Test;
+
+class WeightedCacheTest {
+
+  @Test
+  void shouldRemoveLeastRecentlyUsedItemsBeyondMaxWeight() {
+    WeightedCache cache = new WeightedCache(new PerpetualCache("default"));
+    cache.setMaxWeight(100);
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, Arrays.asList(new Object[20]));
+    }
+    assertNotNull(cache.getObject(0));
+    cache.putObject(5, Arrays.asList(new Object[30]));
+    assertNotNull(cache.getObject(0));
+    assertNull(cache.getObject(1));
+    assertNull(cache.getObject(2));
+    assertEquals(90, cache.getWeight());
+    assertEquals(4, cache.getSize());
+  }
+
+  @Test
+  void shouldRemoveLeastRecentlyUsedItemBeyondSize() {
+    WeightedCache cache = new WeightedCache(new PerpetualCache("default"));
+    cache.setSize(2);
+    cache.putObject(0, 0);
+    cache.putObject(1, 1);
+    cache.putObject(2, 2);
+    assertNull(cache.getObject(0));
+    assertEquals(2, cache.getWeight());
+  }
+
+  @Test
+  void shouldUseCustomWeigher() {
+    WeightedCache cache = new WeightedCache(new PerpetualCache("default"));
+    cache.setWeigher((key, value) -> 10);
+    cache.putObject(0, Collections.emptyList());
+    assertEquals(10, cache.getWeight());
+  }
+
+  @Test
+  void shouldWeighSerializedSizeThroughDecorators() {
+    Cache cache = new SynchronizedCache(new SerializedCache(new WeightedCache(new PerpetualCache("default"))));
+    cache.putObject(0, Arrays.asList("a", "b"));
+    assertEquals(1, cache.getSize());
+    assertTrue(cache.getWeight() > 2);
+  }
+
+  @Test
+  void shouldWeighTaggedResultsByTheirRows() {
+    WeightedCache cache = new WeightedCache(new PerpetualCache("default"));
+    cache.setMaxWeight(50);
+    CacheTagVersions tagVersions = new CacheTagVersions();
+    String[] tags = { "user:1" };
+    cache.putObject(0, tagVersions.tag(Arrays.asList(new Object[20]), tags, tagVersions.getVersions(tags)));
+    assertEquals(20, cache.getWeight());
+    cache.putObject(1, tagVersions.tag(Arrays.asList(new Object[40]), tags, tagVersions.getVersions(tags)));
+    assertNull(cache.getObject(0));
+    assertEquals(40, cache.getWeight());
+  }
+
+  @Test
+  void shouldRemoveItemOnDemand() {
+    WeightedCache cache = new WeightedCache(new PerpetualCache("default"));
+    cache.putObject(0, 0);
+    assertNotNull(cache.getObject(0));
+    cache.removeObject(0);
+    assertNull(cache.getObject(0));
+    assertEquals(0, cache.getWeight());
+  }
+
+  @Test
+  void shouldFlushAllItemsOnDemand() {
+    WeightedCache cache = new WeightedCache(new PerpetualCache("default"));
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, i);
+    }
+    assertNotNull(cache.getObject(0));
+    assertNotNull(cache.getObject(4));
+    cache.clear();
+    assertNull(cache.getObject(0));
+    assertNull(cache.getObject(4));
+    assertEquals(0, cache.getWeight());
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void shouldCountSmallValuesExactly() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 10; i++) {
+      histogram.record(i);
+    }
+
+    assertEquals(10, histogram.getCount());
+    assertEquals(4, histogram.getValueAtPercentile(50));
+    assertEquals(9, histogram.getValueAtPercentile(100));
+    assertEquals(4.5, histogram.getMean());
+  }
+
+  @Test
+  void shouldEstimatePercentilesWithinRelativeError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100000; i++) {
+      histogram.record(i);
+    }
+
+    assertEquals(50000, histogram.getValueAtPercentile(50), 50000 * 0.04);
+    assertEquals(99000, histogram.getValueAtPercentile(99), 99000 * 0.04);
+    assertEquals(100000, histogram.getMax());
+  }
+
+  @Test
+  void bucketsShouldCoverAllValues() {
+    long[] values = { 0, 31, 32, 33, 63, 64, 1000, 123456789, Long.MAX_VALUE };
+    for (long value : values) {
+      int index = LatencyHistogram.indexOf(value);
+      assertTrue(value <= LatencyHistogram.highestValueOf(index));
+      assertTrue(index == 0 || value > LatencyHistogram.highestValueOf(index - 1));
+    }
+  }
+
+  @Test
+  void shouldReset() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(100);
+    histogram.record(-1);
+
+    assertEquals(2, histogram.getCount());
+    assertEquals(0, histogram.getValueAtPercentile(1));
+
+    histogram.reset();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+    assertEquals(0, histogram.getValueAtPercentile(99));
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -18,9 +18,13 @@ package org.apache.ibatis.datasource.pooled;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -158,4 +162,387 @@ class PooledDataSourceTest {
     assertEquals(0, poolState.getActiveConnectionCount());
     assertEquals(0, poolState.getIdleConnectionCount());
   }
+
+  @Test
+  void shouldBlockUntilConnectionIsHandedOffInConcurrentMode() throws Exception {
+    dataSource.setPoolConcurrentHandOff(true);
+
+    List<Connection> connections = new ArrayList<>();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    for (int i = 0; i < dataSource.getPoolMaximumActiveConnections(); i++) {
+      connections.add(dataSource.getConnection());
+    }
+
+    new Thread(() -> {
+      try {
+        dataSource.getConnection();
+        latch.countDown();
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }).start();
+
+    assertFalse(latch.await(1000, TimeUnit.MILLISECONDS));
+    connections.get(0).close();
+    assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+    assertEquals(1, dataSource.getPoolState().getHadToWaitCount());
+  }
+
+  @Test
+  void shouldEnsureCorrectIdleConnectionCountInConcurrentMode() throws Exception {
+    dataSource.setPoolConcurrentHandOff(true);
+    dataSource.setPoolMaximumActiveConnections(10);
+    dataSource.setPoolMaximumIdleConnections(5);
+
+    PoolState poolState = dataSource.getPoolState();
+    List<Connection> connections = new ArrayList<>();
+
+    for (int i = 0; i < dataSource.getPoolMaximumActiveConnections(); i++) {
+      connections.add(dataSource.getConnection());
+    }
+
+    assertEquals(0, poolState.getIdleConnectionCount());
+    assertEquals(dataSource.getPoolMaximumActiveConnections(), poolState.getActiveConnectionCount());
+
+    for (int i = 0; i < dataSource.getPoolMaximumActiveConnections(); i++) {
+      connections.get(i).close();
+    }
+
+    assertEquals(dataSource.getPoolMaximumIdleConnections(), poolState.getIdleConnectionCount());
+    assertEquals(0, poolState.getActiveConnectionCount());
+    assertEquals(dataSource.getPoolMaximumActiveConnections(), poolState.getRequestCount());
+  }
+
+  @Test
+  void shouldReuseLastReturnedConnectionInConcurrentMode() throws Exception {
+    dataSource.setPoolConcurrentHandOff(true);
+
+    Connection first = dataSource.getConnection();
+    Connection realConnection = PooledDataSource.unwrapConnection(first);
+    dataSource.getConnection().close();
+    first.close();
+
+    Connection second = dataSource.getConnection();
+    assertNotEquals(first, second);
+    assertSame(realConnection, PooledDataSource.unwrapConnection(second));
+    assertThrows(SQLException.class, first::getAutoCommit);
+  }
+
+  @Test
+  void connectionShouldBeAvailableAfterMaximumCheckoutTimeInConcurrentMode() throws Exception {
+    dataSource.setPoolConcurrentHandOff(true);
+    dataSource.setPoolMaximumCheckoutTime(1000);
+    dataSource.setPoolTimeToWait(500);
+
+    List<Connection> connections = new ArrayList<>();
+    for (int i = 0; i < dataSource.getPoolMaximumActiveConnections(); i++) {
+      connections.add(dataSource.getConnection());
+    }
+
+    Connection claimed = dataSource.getConnection();
+    assertEquals(1, dataSource.getPoolState().getClaimedOverdueConnectionCount());
+    assertThrows(SQLException.class, connections.get(0)::getAutoCommit);
+
+    connections.get(0).close();
+    assertEquals(1, dataSource.getPoolState().getBadConnectionCount());
+    claimed.close();
+  }
+
+  @Test
+  void forceCloseAllShouldRemoveAllConnectionsInConcurrentMode() throws SQLException {
+    dataSource.setPoolConcurrentHandOff(true);
+    dataSource.setPoolMaximumActiveConnections(10);
+    dataSource.setPoolMaximumIdleConnections(5);
+
+    PoolState poolState = dataSource.getPoolState();
+    List<Connection> connections = new ArrayList<>();
+
+    for (int i = 0; i < dataSource.getPoolMaximumActiveConnections(); i++) {
+      connections.add(dataSource.getConnection());
+    }
+
+    for (int i = 0; i < dataSource.getPoolMaximumIdleConnections(); i++) {
+      connections.get(i).close();
+    }
+
+    assertEquals(5, poolState.getActiveConnectionCount());
+    assertEquals(5, poolState.getIdleConnectionCount());
+
+    dataSource.forceCloseAll();
+
+    assertEquals(0, poolState.getActiveConnectionCount());
+    assertEquals(0, poolState.getIdleConnectionCount());
+    assertThrows(SQLException.class, connections.get(9)::getAutoCommit);
+  }
+
+  @Test
+  void maintenanceShouldKeepMinimumIdleConnections() throws Exception {
+    dataSource.setPoolMinimumIdleConnections(3);
+
+    dataSource.maintainPool();
+
+    assertEquals(3, dataSource.getPoolState().getIdleConnectionCount());
+    assertEquals(0, dataSource.getPoolState().getActiveConnectionCount());
+  }
+
+  @Test
+  void maintenanceShouldKeepMinimumIdleConnectionsInConcurrentMode() throws Exception {
+    dataSource.setPoolConcurrentHandOff(true);
+    dataSource.setPoolMinimumIdleConnections(3);
+
+    dataSource.maintainPool();
+
+    assertEquals(3, dataSource.getPoolState().getIdleConnectionCount());
+    assertEquals(0, dataSource.getPoolState().getActiveConnectionCount());
+  }
+
+  @Test
+  void maintenanceShouldCloseIdleConnectionsBeyondMinimum() throws Exception {
+    dataSource.setPoolMinimumIdleConnections(1);
+    dataSource.setPoolMaximumIdleTime(100);
+
+    List<Connection> connections = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      connections.add(dataSource.getConnection());
+    }
+    for (Connection connection : connections) {
+      connection.close();
+    }
+    assertEquals(4, dataSource.getPoolState().getIdleConnectionCount());
+
+    Thread.sleep(200);
+    dataSource.maintainPool();
+
+    assertEquals(1, dataSource.getPoolState().getIdleConnectionCount());
+  }
+
+  @Test
+  void maintenanceShouldCloseAgedConnectionsInConcurrentMode() throws Exception {
+    dataSource.setPoolConcurrentHandOff(true);
+    dataSource.setPoolMaximumLifetime(100);
+
+    Connection connection = dataSource.getConnection();
+    connection.close();
+    assertEquals(1, dataSource.getPoolState().getIdleConnectionCount());
+
+    Thread.sleep(200);
+    dataSource.maintainPool();
+
+    assertEquals(0, dataSource.getPoolState().getIdleConnectionCount());
+  }
+
+  @Test
+  void maintenanceShouldValidateIdleConnections() throws Exception {
+    dataSource.setPoolPingEnabled(true);
+    dataSource.setPoolPingQuery("SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS");
+    dataSource.setPoolPingConnectionsNotUsedFor(100);
+
+    Connection connection = dataSource.getConnection();
+    Connection realConnection = PooledDataSource.unwrapConnection(connection);
+    connection.close();
+    Thread.sleep(200);
+    dataSource.maintainPool();
+
+    assertEquals(1, dataSource.getPoolState().getIdleConnectionCount());
+    assertEquals(0, dataSource.getPoolState().getBadConnectionCount());
+
+    realConnection.close();
+    Thread.sleep(200);
+    dataSource.maintainPool();
+
+    assertEquals(0, dataSource.getPoolState().getIdleConnectionCount());
+    assertEquals(1, dataSource.getPoolState().getBadConnectionCount());
+  }
+
+  @Test
+  void maintenanceShouldReclaimOverdueConnections() throws Exception {
+    dataSource.setPoolMaximumCheckoutTime(100);
+    dataSource.setPoolReclaimOverdueConnections(true);
+
+    Connection connection = dataSource.getConnection();
+    Thread.sleep(200);
+    dataSource.maintainPool();
+
+    assertEquals(1, dataSource.getPoolState().getClaimedOverdueConnectionCount());
+    assertEquals(0, dataSource.getPoolState().getActiveConnectionCount());
+    assertEquals(1, dataSource.getPoolState().getIdleConnectionCount());
+    assertThrows(SQLException.class, connection::getAutoCommit);
+  }
+
+  @Test
+  void maintenanceShouldReclaimOverdueConnectionsInConcurrentMode() throws Exception {
+    dataSource.setPoolConcurrentHandOff(true);
+    dataSource.setPoolMaximumCheckoutTime(100);
+    dataSource.setPoolReclaimOverdueConnections(true);
+
+    Connection connection = dataSource.getConnection();
+    Thread.sleep(200);
+    dataSource.maintainPool();
+
+    assertEquals(1, dataSource.getPoolState().getClaimedOverdueConnectionCount());
+    assertEquals(0, dataSource.getPoolState().getActiveConnectionCount());
+    assertEquals(1, dataSource.getPoolState().getIdleConnectionCount());
+    assertThrows(SQLException.class, connection::getAutoCommit);
+  }
+
+  @Test
+  void shouldRunMaintenanceInBackground() throws Exception {
+    dataSource.setPoolMinimumIdleConnections(2);
+    dataSource.setPoolMaintenanceInterval(50);
+    try {
+      long deadline = System.currentTimeMillis() + 5000;
+      while (dataSource.getPoolState().getIdleConnectionCount() < 2 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(50);
+      }
+      assertEquals(2, dataSource.getPoolState().getIdleConnectionCount());
+    } finally {
+      dataSource.setPoolMaintenanceInterval(0);
+    }
+  }
+
+  @Test
+  void shouldWarmUpOnFirstUse() throws Exception {
+    dataSource.setPoolWarmUpConnections(3);
+
+    try (Connection connection = dataSource.getConnection()) {
+      assertEquals(1, dataSource.getPoolState().getActiveConnectionCount());
+      assertEquals(2, dataSource.getPoolState().getIdleConnectionCount());
+      assertEquals(1, dataSource.getPoolState().getRequestCount());
+    }
+  }
+
+  @Test
+  void shouldWarmUpInConcurrentMode() throws Exception {
+    dataSource.setPoolConcurrentHandOff(true);
+    dataSource.setPoolWarmUpConnections(3);
+
+    dataSource.warmUp();
+
+    assertEquals(3, dataSource.getPoolState().getIdleConnectionCount());
+    assertEquals(0, dataSource.getPoolState().getActiveConnectionCount());
+  }
+
+  @Test
+  void warmUpShouldNotExceedMaximumIdleConnections() throws Exception {
+    dataSource.setPoolMaximumIdleConnections(2);
+    dataSource.setPoolWarmUpConnections(5);
+
+    dataSource.warmUp();
+
+    assertEquals(2, dataSource.getPoolState().getIdleConnectionCount());
+  }
+
+  @Test
+  void shouldOpenConnectionsOutsideLockInNonBlockingGrowthMode() throws Exception {
+    dataSource.setPoolNonBlockingGrowth(true);
+    dataSource.setPoolMaximumActiveConnections(3);
+
+    List<Connection> connections = new ArrayList<>();
+    for (int i = 0; i < dataSource.getPoolMaximumActiveConnections(); i++) {
+      connections.add(dataSource.getConnection());
+    }
+    assertEquals(3, dataSource.getPoolState().getActiveConnectionCount());
+
+    CountDownLatch latch = new CountDownLatch(1);
+    new Thread(() -> {
+      try {
+        dataSource.getConnection();
+        latch.countDown();
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }).start();
+
+    assertFalse(latch.await(500, TimeUnit.MILLISECONDS));
+    connections.get(0).close();
+    assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void shouldRecordTimingsWithMetricsListener() throws Exception {
+    HistogramPoolMetricsListener metrics = new HistogramPoolMetricsListener();
+    dataSource.setPoolMetricsListener(metrics);
+    dataSource.setPoolMaximumActiveConnections(1);
+    dataSource.setPoolTimeToWait(100);
+
+    Connection connection = dataSource.getConnection();
+    CountDownLatch latch = new CountDownLatch(1);
+    new Thread(() -> {
+      try {
+        dataSource.getConnection().close();
+        latch.countDown();
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }).start();
+    assertFalse(latch.await(300, TimeUnit.MILLISECONDS));
+    connection.close();
+    assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+
+    assertEquals(1, metrics.getCreationTime().getCount());
+    assertEquals(2, metrics.getWaitTime().getCount());
+    assertTrue(metrics.getWaitTime().getMax() >= 300_000);
+    assertEquals(2, metrics.getUsageTime().getCount());
+    assertTrue(metrics.getTimeoutWaitTime().getCount() >= 2);
+  }
+
+  @Test
+  void shouldRecordTimingsWithMetricsListenerInConcurrentMode() throws Exception {
+    HistogramPoolMetricsListener metrics = new HistogramPoolMetricsListener();
+    dataSource.setPoolConcurrentHandOff(true);
+    dataSource.setPoolMetricsListener(metrics);
+
+    for (int i = 0; i < 3; i++) {
+      dataSource.getConnection().close();
+    }
+
+    assertEquals(1, metrics.getCreationTime().getCount());
+    assertEquals(3, metrics.getWaitTime().getCount());
+    assertEquals(3, metrics.getUsageTime().getCount());
+    assertEquals(0, metrics.getTimeoutWaitTime().getCount());
+  }
+
+  @Test
+  void shouldReusePreparedStatementsAcrossCheckouts() throws Exception {
+    dataSource.setPoolStatementCacheSize(2);
+    PreparedStatement statement;
+    try (Connection connection = dataSource.getConnection()) {
+      PreparedStatement cached = connection.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS");
+      statement = cached.unwrap(PreparedStatement.class);
+      cached.close();
+      assertTrue(cached.isClosed());
+      assertFalse(statement.isClosed());
+    }
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement cached = connection.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS")) {
+      assertSame(statement, cached.unwrap(PreparedStatement.class));
+    }
+  }
+
+  @Test
+  void shouldNotShareCachedStatementInUse() throws Exception {
+    dataSource.setPoolStatementCacheSize(2);
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement first = connection.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS");
+        PreparedStatement second = connection.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS")) {
+      assertNotSame(first.unwrap(PreparedStatement.class), second.unwrap(PreparedStatement.class));
+    }
+  }
+
+  @Test
+  void shouldCloseLeastRecentlyUsedStatementWhenCacheIsFull() throws Exception {
+    dataSource.setPoolStatementCacheSize(1);
+    try (Connection connection = dataSource.getConnection()) {
+      PreparedStatement statement;
+      try (PreparedStatement cached = connection.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS")) {
+        statement = cached.unwrap(PreparedStatement.class);
+      }
+      try (PreparedStatement cached = connection.prepareStatement("select 2 from INFORMATION_SCHEMA.SYSTEM_USERS")) {
+        assertNotSame(statement, cached.unwrap(PreparedStatement.class));
+      }
+      assertTrue(statement.isClosed());
+    }
+  }
+
 }
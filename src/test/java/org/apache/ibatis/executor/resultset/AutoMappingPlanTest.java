@@ -0,0 +1,104 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AutoMappingPlanTest {
+
+  interface Mapper {
+    @Select("select id, username, email from author where id = #{id}")
+    Author selectAuthor(int id);
+
+    @Select("select id, username as unknown_column from author where id = #{id}")
+    Author selectAuthorWithUnknownColumn(int id);
+  }
+
+  static class PlanRecordingConfiguration extends Configuration {
+    private final List<String> addedPlans = new ArrayList<>();
+
+    PlanRecordingConfiguration(Environment environment) {
+      super(environment);
+    }
+
+    @Override
+    public void addAutoMappingPlan(String key, AutoMappingPlan plan) {
+      addedPlans.add(key);
+      super.addAutoMappingPlan(key, plan);
+    }
+  }
+
+  private static SqlSessionFactory sqlSessionFactory;
+  private static PlanRecordingConfiguration configuration;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    configuration = new PlanRecordingConfiguration(
+        new Environment("Production", new JdbcTransactionFactory(), dataSource));
+    configuration.addMapper(Mapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @BeforeEach
+  void clearPlans() {
+    configuration.addedPlans.clear();
+  }
+
+  @Test
+  void sharesPlansAcrossQueries() {
+    for (int id : new int[] { 101, 102, 101 }) {
+      try (SqlSession session = sqlSessionFactory.openSession()) {
+        Author author = session.getMapper(Mapper.class).selectAuthor(id);
+        assertThat(author.getId()).isEqualTo(id);
+        assertThat(author.getUsername()).isNotNull();
+        assertThat(author.getEmail()).isNotNull();
+      }
+    }
+    assertThat(configuration.addedPlans).hasSize(1);
+  }
+
+  @Test
+  void keepsPlansWithUnknownColumnsToTheQuery() {
+    for (int i = 0; i < 2; i++) {
+      try (SqlSession session = sqlSessionFactory.openSession()) {
+        Author author = session.getMapper(Mapper.class).selectAuthorWithUnknownColumn(101);
+        assertThat(author.getId()).isEqualTo(101);
+        assertThat(author.getUsername()).isNull();
+      }
+    }
+    assertThat(configuration.addedPlans).isEmpty();
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,7 +16,6 @@
 package org.apache.ibatis.executor.resultset;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -43,8 +42,8 @@ import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.IntegerTypeHandler;
 import org.apache.ibatis.type.TypeHandler;
-import org.apache.ibatis.type.TypeHandlerRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -73,7 +72,9 @@ class DefaultResultSetHandlerTest {
   @Test
   void shouldRetainColumnNameCase() throws Exception {
 
-    final MappedStatement ms = getMappedStatement();
+    // type handlers other than the built-in ones read by name
+    final MappedStatement ms = getMappedStatement(new IntegerTypeHandler() {
+    });
 
     final Executor executor = null;
     final ParameterHandler parameterHandler = null;
@@ -98,22 +99,43 @@ class DefaultResultSetHandlerTest {
     assertEquals(100, ((HashMap) results.get(0)).get("cOlUmN1"));
   }
 
+  @Test
+  void shouldReadByIndexWithBuiltInTypeHandlers() throws Exception {
+    final MappedStatement ms = getMappedStatement(new IntegerTypeHandler());
+    final RowBounds rowBounds = new RowBounds(0, 100);
+    final DefaultResultSetHandler defaultResultSetHandler = new DefaultResultSetHandler(null/* executor */, ms,
+        null/* parameterHandler */, null/* resultHandler */, null/* boundSql */, rowBounds);
+
+    when(stmt.getResultSet()).thenReturn(rs);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rs.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+    when(rs.next()).thenReturn(true).thenReturn(false);
+    when(rs.getInt(1)).thenReturn(100);
+    when(rsmd.getColumnCount()).thenReturn(1);
+    when(rsmd.getColumnLabel(1)).thenReturn("CoLuMn1");
+    when(rsmd.getColumnType(1)).thenReturn(Types.INTEGER);
+    when(rsmd.getColumnClassName(1)).thenReturn(Integer.class.getCanonicalName());
+
+    final List<Object> results = defaultResultSetHandler.handleResultSets(stmt);
+    assertEquals(1, results.size());
+    assertEquals(100, ((HashMap) results.get(0)).get("cOlUmN1"));
+  }
+
   @Test
   void shouldThrowExceptionWithColumnName() throws Exception {
-    final MappedStatement ms = getMappedStatement();
+    final MappedStatement ms = getMappedStatement(new IntegerTypeHandler());
     final RowBounds rowBounds = new RowBounds(0, 100);
 
     final DefaultResultSetHandler defaultResultSetHandler = new DefaultResultSetHandler(null/* executor */, ms,
         null/* parameterHandler */, null/* resultHandler */, null/* boundSql */, rowBounds);
 
     final ResultSetWrapper rsw = mock(ResultSetWrapper.class);
-    when(rsw.getResultSet()).thenReturn(mock(ResultSet.class));
 
     final ResultMapping resultMapping = mock(ResultMapping.class);
     final TypeHandler typeHandler = mock(TypeHandler.class);
     when(resultMapping.getColumn()).thenReturn("column");
     when(resultMapping.getTypeHandler()).thenReturn(typeHandler);
-    when(typeHandler.getResult(any(ResultSet.class), any(String.class))).thenThrow(new SQLException("exception"));
+    when(rsw.getValue(typeHandler, "column")).thenThrow(new SQLException("exception"));
     List<ResultMapping> constructorMappings = List.of(resultMapping);
 
     try {
@@ -127,9 +149,8 @@ class DefaultResultSetHandlerTest {
     }
   }
 
-  MappedStatement getMappedStatement() {
+  MappedStatement getMappedStatement(TypeHandler<Integer> typeHandler) {
     final Configuration config = new Configuration();
-    final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
     return new MappedStatement.Builder(config, "testSelect", new StaticSqlSource(config, "some select statement"),
         SqlCommandType.SELECT).resultMaps(new ArrayList<ResultMap>() {
           private static final long serialVersionUID = 1L;
@@ -137,8 +158,7 @@ class DefaultResultSetHandlerTest {
             add(new ResultMap.Builder(config, "testMap", HashMap.class, new ArrayList<ResultMapping>() {
               private static final long serialVersionUID = 1L;
               {
-                add(new ResultMapping.Builder(config, "cOlUmN1", "CoLuMn1", registry.getTypeHandler(Integer.class))
-                    .build());
+                add(new ResultMapping.Builder(config, "cOlUmN1", "CoLuMn1", typeHandler).build());
               }
             }).build());
           }
@@ -0,0 +1,63 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.IntegerTypeHandler;
+import org.apache.ibatis.type.StringTypeHandler;
+import org.apache.ibatis.type.UnknownTypeHandler;
+import org.junit.jupiter.api.Test;
+
+class ResultSetWrapperTest {
+
+  @Test
+  void builtInTypeHandlersReadByIndex() {
+    assertTrue(ResultSetWrapper.canReadByIndex(IntegerTypeHandler.INSTANCE));
+    assertTrue(ResultSetWrapper.canReadByIndex(new StringTypeHandler()));
+  }
+
+  @Test
+  void customTypeHandlersReadByName() {
+    assertFalse(ResultSetWrapper.canReadByIndex(new IntegerTypeHandler() {
+    }));
+  }
+
+  @Test
+  void unknownTypeHandlerReadsByName() {
+    assertFalse(ResultSetWrapper.canReadByIndex(new UnknownTypeHandler(new Configuration())));
+  }
+
+  @Test
+  void typeHandlersReadByNameWithoutColumnLabels() throws Exception {
+    ResultSet rs = mock(ResultSet.class);
+    ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(rs.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(0);
+    Configuration configuration = new Configuration();
+    assertTrue(new ResultSetWrapper(rs, configuration).readsByIndex(IntegerTypeHandler.INSTANCE));
+    configuration.setUseColumnLabel(false);
+    assertFalse(new ResultSetWrapper(rs, configuration).readsByIndex(IntegerTypeHandler.INSTANCE));
+  }
+
+}
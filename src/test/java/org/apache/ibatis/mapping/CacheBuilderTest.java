@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -20,10 +20,17 @@ import static com.googlecode.catchexception.apis.BDDCatchException.when;
 import static org.assertj.core.api.BDDAssertions.then;
 
 import java.lang.reflect.Field;
+import java.util.Properties;
 
 import org.apache.ibatis.builder.InitializingObject;
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.decorators.ConcurrentLruCache;
+import org.apache.ibatis.cache.decorators.ExpiringCache;
+import org.apache.ibatis.cache.decorators.LoggingCache;
+import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.impl.ConcurrentPerpetualCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -44,6 +51,52 @@ class CacheBuilderTest {
         "Failed cache initialization for 'test' on 'org.apache.ibatis.mapping.CacheBuilderTest$InitializingFailureCache'");
   }
 
+  @Test
+  void synchronizedWhenNotThreadSafe() {
+    Cache cache = new CacheBuilder("test").implementation(ConcurrentPerpetualCache.class).addDecorator(LruCache.class)
+        .build();
+
+    then(cache).isInstanceOf(SynchronizedCache.class);
+  }
+
+  @Test
+  void notSynchronizedWhenThreadSafe() {
+    Cache cache = new CacheBuilder("test").implementation(ConcurrentPerpetualCache.class)
+        .addDecorator(ConcurrentLruCache.class).size(10).readWrite(false).build();
+
+    then(cache).isInstanceOf(LoggingCache.class);
+    ConcurrentLruCache lru = unwrap(cache);
+    then(lru.getId()).isEqualTo("test");
+  }
+
+  @Test
+  void expiringWhenTimeToLiveIsSet() {
+    Properties properties = new Properties();
+    properties.setProperty("timeToLive", "60000");
+    Cache cache = new CacheBuilder("test").implementation(PerpetualCache.class).addDecorator(LruCache.class)
+        .properties(properties).build();
+
+    Cache logging = unwrap(cache);
+    Cache lru = unwrap(logging);
+    then(lru).isInstanceOf(LruCache.class);
+    Cache expiring = unwrap(lru);
+    then(expiring).isInstanceOf(ExpiringCache.class);
+  }
+
+  @Test
+  void synchronizedWhenThreadSafeAndExpiring() {
+    Properties properties = new Properties();
+    properties.setProperty("timeToLive", "60000");
+    Cache cache = new CacheBuilder("test").implementation(ConcurrentPerpetualCache.class)
+        .addDecorator(ConcurrentLruCache.class).readWrite(false).properties(properties).build();
+
+    then(cache).isInstanceOf(SynchronizedCache.class);
+    Cache logging = unwrap(cache);
+    Cache lru = unwrap(logging);
+    Cache expiring = unwrap(lru);
+    then(expiring).isInstanceOf(ExpiringCache.class);
+  }
+
   @SuppressWarnings("unchecked")
   private <T> T unwrap(Cache cache) {
     Field field;
@@ -0,0 +1,89 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.LambdaMethodInvoker;
+import org.apache.ibatis.reflection.invoker.MethodInvoker;
+import org.junit.jupiter.api.Test;
+
+class LambdaReflectorFactoryTest {
+
+  @Test
+  void shouldGetAndSetPropertiesThroughLambdas() throws Exception {
+    Reflector reflector = new LambdaReflectorFactory().findForClass(Bean.class);
+    Bean bean = new Bean();
+    Invoker setter = reflector.getSetInvoker("id");
+    Invoker getter = reflector.getGetInvoker("id");
+    assertInstanceOf(LambdaMethodInvoker.class, setter);
+    assertInstanceOf(LambdaMethodInvoker.class, getter);
+    assertEquals(int.class, getter.getType());
+    setter.invoke(bean, new Object[] { 5 });
+    assertEquals(5, getter.invoke(bean, null));
+    reflector.getSetInvoker("name").invoke(bean, new Object[] { "Bob" });
+    assertEquals("Bob", reflector.getGetInvoker("name").invoke(bean, null));
+  }
+
+  @Test
+  void shouldWrapExceptionsThrownBySetters() {
+    Reflector reflector = new LambdaReflectorFactory().findForClass(Bean.class);
+    InvocationTargetException e = assertThrows(InvocationTargetException.class,
+        () -> reflector.getSetInvoker("id").invoke(new Bean(), new Object[] { -1 }));
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+  }
+
+  @Test
+  void shouldFallBackToReflectionForInaccessibleClasses() throws Exception {
+    Reflector reflector = new LambdaReflectorFactory().findForClass(ArrayList.class);
+    Invoker getter = reflector.getGetInvoker("empty");
+    assertInstanceOf(MethodInvoker.class, getter);
+    assertEquals(true, getter.invoke(new ArrayList<>(), null));
+  }
+
+  static class Bean {
+    private int id;
+    private String name;
+
+    public int getId() {
+      return id;
+    }
+
+    public void setId(int id) {
+      if (id < 0) {
+        throw new IllegalArgumentException("negative id");
+      }
+      this.id = id;
+    }
+
+    private String getName() {
+      return name;
+    }
+
+    // not void
+    public Bean setName(String name) {
+      this.name = name;
+      return this;
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import static org.assertj.core.api.BDDAssertions.then;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Serializable;
@@ -406,4 +407,26 @@ class ReflectorTest {
     assertEquals(Foo.class, setter.getRawType());
     assertArrayEquals(new Type[] { String.class }, setter.getActualTypeArguments());
   }
+
+  @Test
+  void shouldSetPrimitivesWithoutBoxing() throws Exception {
+    @SuppressWarnings("unused")
+    class Bean {
+      private int count;
+      private long total;
+      private Integer boxed;
+
+      public void setCount(int count) {
+        this.count = count;
+      }
+    }
+    ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+    Reflector reflector = reflectorFactory.findForClass(Bean.class);
+    Bean bean = new Bean();
+    reflector.getPrimitiveSetInvoker("count").setInt(bean, 3);
+    reflector.getPrimitiveSetInvoker("total").setLong(bean, 5L);
+    assertEquals(3, bean.count);
+    assertEquals(5L, bean.total);
+    assertNull(reflector.getPrimitiveSetInvoker("boxed"));
+  }
 }
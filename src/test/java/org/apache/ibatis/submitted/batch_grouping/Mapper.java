@@ -0,0 +1,36 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_grouping;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Select;
+
+public interface Mapper {
+
+  @Insert("insert into depts (id, name) values (#{id}, #{name})")
+  void insertDept(Dept dept);
+
+  @Insert("insert into users (id, name, dept_id) values (#{id}, #{name}, #{deptId})")
+  void insertUser(User user);
+
+  @Delete("delete from users where id = #{id}")
+  void deleteUser(int id);
+
+  @Select("select count(*) from users")
+  int countUsers();
+
+}
@@ -0,0 +1,131 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_size;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchSizeTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // create an SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_size/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_size/CreateDB.sql");
+  }
+
+  @Test
+  void batchIsExecutedEveryBatchSizeRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        User user = new User("User" + i);
+        mapper.insertUser(user);
+        users.add(user);
+      }
+      assertNotNull(users.get(2).getId());
+      assertNull(users.get(3).getId());
+
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(1, results.size());
+      assertEquals(4, results.get(0).getUpdateCounts().length);
+      assertEquals(4, results.get(0).getParameterObjects().size());
+      assertNotNull(users.get(3).getId());
+      sqlSession.commit();
+    }
+  }
+
+  @Test
+  void parameterObjectsOfExecutedRowsAreDiscarded() {
+    sqlSessionFactory.getConfiguration().setDiscardBatchParameterObjects(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 0; i < 4; i++) {
+        mapper.insertUser(new User("User" + i));
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(4, results.get(0).getUpdateCounts().length);
+      assertTrue(results.get(0).getParameterObjects().isEmpty());
+      sqlSession.commit();
+    }
+  }
+
+  @Test
+  void batchesAreExecutedInTheBackground() {
+    sqlSessionFactory.getConfiguration().setAsyncBatchFlush(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = new ArrayList<>();
+      for (int i = 0; i < 7; i++) {
+        User user = new User("User" + i);
+        mapper.insertUser(user);
+        users.add(user);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(3, results.size());
+      assertEquals(3, results.get(0).getUpdateCounts().length);
+      assertEquals(1, results.get(2).getUpdateCounts().length);
+      for (User user : users) {
+        assertNotNull(user.getId());
+      }
+      sqlSession.commit();
+    }
+  }
+
+  @Test
+  void failureInTheBackgroundIsThrownOnFlush() {
+    sqlSessionFactory.getConfiguration().setAsyncBatchFlush(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertUser(new User("User0"));
+      mapper.insertUser(new User("User1"));
+      mapper.insertUser(new User("User2 has a name that is too long"));
+      mapper.insertUser(new User("User3"));
+      PersistenceException e = assertThrows(PersistenceException.class, sqlSession::flushStatements);
+      BatchExecutorException cause = (BatchExecutorException) e.getCause();
+      assertEquals("org.apache.ibatis.submitted.batch_size.Mapper.insertUser", cause.getFailingStatementId());
+      sqlSession.rollback();
+    }
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cache_tags;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheTagsTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/cache_tags/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/cache_tags/CreateDB.sql");
+  }
+
+  @Test
+  void updateInvalidatesOnlyResultsWithItsTags() {
+    Person jane = findById(1);
+    Person john = findById(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(PersonMapper.class).updateFirstname(new Person(1, "Janet", null));
+      sqlSession.commit();
+    }
+    Person janet = findById(1);
+    assertNotSame(jane, janet);
+    assertEquals("Janet", janet.getFirstname());
+    assertSame(john, findById(2));
+    assertSame(janet, findById(1));
+  }
+
+  @Test
+  void sessionThatInvalidatedTagsSeesItsOwnChanges() {
+    Person john = findById(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper personMapper = sqlSession.getMapper(PersonMapper.class);
+      personMapper.updateFirstname(new Person(2, "Johnny", null));
+      assertEquals("Johnny", personMapper.findById(2).getFirstname());
+      sqlSession.rollback();
+    }
+    assertSame(john, findById(2));
+  }
+
+  @Test
+  void updateWithTagsInvalidatesResultsWithoutTags() {
+    List<Person> people = findAll();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper personMapper = sqlSession.getMapper(PersonMapper.class);
+      personMapper.updateFirstname(new Person(1, "Janet", null));
+      assertEquals("Janet", personMapper.findAll().get(0).getFirstname());
+      sqlSession.commit();
+    }
+    List<Person> updated = findAll();
+    assertNotSame(people, updated);
+    assertEquals("Janet", updated.get(0).getFirstname());
+    assertSame(updated, findAll());
+  }
+
+  @Test
+  void updateWithoutTagsClearsTheCache() {
+    Person john = findById(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(PersonMapper.class).updateAll("Doe");
+      sqlSession.commit();
+    }
+    Person johnDoe = findById(2);
+    assertNotSame(john, johnDoe);
+    assertEquals("Doe", johnDoe.getLastname());
+  }
+
+  private List<Person> findAll() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return sqlSession.getMapper(PersonMapper.class).findAll();
+    }
+  }
+
+  private Person findById(int id) {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return sqlSession.getMapper(PersonMapper.class).findById(id);
+    }
+  }
+
+}
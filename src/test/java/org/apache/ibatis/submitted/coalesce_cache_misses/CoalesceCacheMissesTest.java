@@ -0,0 +1,152 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.coalesce_cache_misses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CoalesceCacheMissesTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/coalesce_cache_misses/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/coalesce_cache_misses/CreateDB.sql");
+    SlowQueryInterceptor.queries.set(0);
+    SlowQueryInterceptor.firstQueryBlocker = null;
+  }
+
+  @Test
+  void concurrentMissesShareOneQuery() throws Exception {
+    int threads = 4;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<List<Person>>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return sqlSession.getMapper(PersonMapper.class).findAll();
+          }
+        }));
+      }
+      start.countDown();
+      for (Future<List<Person>> result : results) {
+        assertEquals(2, result.get().size());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1, SlowQueryInterceptor.queries.get());
+  }
+
+  @Test
+  void readWriteCacheGivesEachSessionItsOwnResult() throws Exception {
+    int threads = 4;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        String name = "Name" + i;
+        results.add(executor.submit(() -> {
+          start.await();
+          try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            Person person = sqlSession.getMapper(ReadWritePersonMapper.class).findAll().get(0);
+            String original = person.getFirstname();
+            person.setFirstname(name);
+            Thread.sleep(100);
+            assertEquals(name, person.getFirstname());
+            return original;
+          }
+        }));
+      }
+      start.countDown();
+      for (Future<String> result : results) {
+        assertEquals("Jane", result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    // no session got the objects of another one
+    assertEquals(threads, SlowQueryInterceptor.queries.get());
+  }
+
+  @Test
+  void waitingCallerRunsTheQueryAfterItsTimeout() throws Exception {
+    // the leader is blocked until the waiting caller returns, like on a row locked by its transaction
+    CountDownLatch blocker = new CountDownLatch(1);
+    SlowQueryInterceptor.firstQueryBlocker = blocker;
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<List<Person>> leader = executor.submit(() -> {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+          return sqlSession.getMapper(PersonMapper.class).findAll();
+        }
+      });
+      while (SlowQueryInterceptor.queries.get() == 0) {
+        Thread.sleep(10);
+      }
+      try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+        assertEquals(2, sqlSession.getMapper(PersonMapper.class).findAll().size());
+      }
+      blocker.countDown();
+      assertEquals(2, leader.get().size());
+    } finally {
+      blocker.countDown();
+      executor.shutdown();
+    }
+    assertEquals(2, SlowQueryInterceptor.queries.get());
+  }
+
+  @Test
+  void sessionThatClearedTheCacheDoesNotShareItsResult() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      mapper.delete(1);
+      assertEquals(1, mapper.findAll().size());
+      sqlSession.rollback();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals(2, sqlSession.getMapper(PersonMapper.class).findAll().size());
+    }
+  }
+
+}
@@ -0,0 +1,117 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.compiled_row_mappers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CompiledRowMappersTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create an SqlSessionFactory
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/compiled_row_mappers/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/compiled_row_mappers/CreateDB.sql");
+  }
+
+  @Test
+  void mapsAutomaticallyMappedColumns() {
+    for (int i = 0; i < 2; i++) {
+      try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+        List<User> users = sqlSession.getMapper(Mapper.class).selectUsers();
+        assertEquals(2, users.size());
+        assertEquals(1, (int) users.get(0).getId());
+        assertEquals("User1", users.get(0).getName());
+        assertEquals(30, users.get(0).getAge());
+        assertEquals(2, (int) users.get(1).getId());
+        assertNull(users.get(1).getName());
+        assertEquals(0, users.get(1).getAge());
+      }
+    }
+  }
+
+  @Test
+  void mapsResultMappings() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).selectUsersWithNickNames();
+      assertEquals(1, (int) users.get(0).getId());
+      assertEquals("User1", users.get(0).getName());
+      assertEquals("One", users.get(0).getNickName());
+      assertNull(users.get(1).getNickName());
+    }
+  }
+
+  @Test
+  void readsByNameWithCustomTypeHandlers() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).selectUsersWithNameOnlyTypeHandler();
+      assertEquals("One", users.get(0).getNickName());
+      assertNull(users.get(1).getNickName());
+    }
+  }
+
+  @Test
+  void mapsNestedPropertiesAsBefore() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).selectUsersWithAddresses();
+      assertEquals(1, (int) users.get(0).getId());
+      assertEquals("Tokyo", users.get(0).getAddress().getCity());
+      assertNull(users.get(1).getAddress());
+    }
+  }
+
+  @Test
+  void mapsPrimitiveProperties() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).selectUserStatistics();
+      assertEquals(30, users.get(0).getAge());
+      assertEquals(10_000_000_000L, users.get(0).getVisits());
+      assertEquals(1.5, users.get(0).getScore());
+      assertEquals(0, users.get(1).getAge());
+      assertEquals(0L, users.get(1).getVisits());
+      assertEquals(0.0, users.get(1).getScore());
+    }
+  }
+
+  @Test
+  void returnsNullForEmptyRow() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("User1", mapper.selectUserName(1).getName());
+      assertNull(mapper.selectUserName(2));
+    }
+  }
+
+}
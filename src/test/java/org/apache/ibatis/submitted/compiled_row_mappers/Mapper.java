@@ -0,0 +1,48 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.compiled_row_mappers;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.Results;
+import org.apache.ibatis.annotations.Select;
+
+public interface Mapper {
+
+  @Select("select id, name, age from users order by id")
+  List<User> selectUsers();
+
+  @Results({ @Result(property = "nickName", column = "nick_name") })
+  @Select("select id, name, nick_name from users order by id")
+  List<User> selectUsersWithNickNames();
+
+  @Results({ @Result(property = "nickName", column = "nick_name", typeHandler = NameOnlyTypeHandler.class) })
+  @Select("select id, nick_name from users order by id")
+  List<User> selectUsersWithNameOnlyTypeHandler();
+
+  @Results({ @Result(property = "address.city", column = "city") })
+  @Select("select id, city from users order by id")
+  List<User> selectUsersWithAddresses();
+
+  @Results({ @Result(property = "visits", column = "visit_count") })
+  @Select("select id, age, visit_count, score from users order by id")
+  List<User> selectUserStatistics();
+
+  @Select("select name from users where id = #{id}")
+  User selectUserName(int id);
+
+}
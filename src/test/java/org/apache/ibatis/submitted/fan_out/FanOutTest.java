@@ -0,0 +1,94 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.fan_out;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.FanOut;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class FanOutTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create an SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/fan_out/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/fan_out/CreateDB.sql");
+  }
+
+  @Test
+  void callsRunOnSessionsOfTheirOwn() {
+    FanOut fanOut = sqlSessionFactory.fanOut();
+    FanOut.Call<String> user1 = fanOut.add(session -> session.getMapper(Mapper.class).selectName(1));
+    FanOut.Call<String> user2 = fanOut.add(session -> session.getMapper(Mapper.class).selectName(2));
+    FanOut.Call<Integer> count = fanOut.add(session -> session.getMapper(Mapper.class).countUsers());
+    FanOut.Call<SqlSession> session1 = fanOut.add(session -> session);
+    FanOut.Call<SqlSession> session2 = fanOut.add(session -> session);
+    fanOut.execute();
+    assertEquals("User1", user1.get());
+    assertEquals("User2", user2.get());
+    assertEquals(2, (int) count.get());
+    assertNotSame(session1.get(), session2.get());
+  }
+
+  @Test
+  void failureOfACallIsThrown() {
+    FanOut fanOut = sqlSessionFactory.fanOut();
+    fanOut.add(session -> session.getMapper(Mapper.class).selectName(1));
+    fanOut.add(session -> session.getMapper(Mapper.class).selectFromMissingTable());
+    PersistenceException e = assertThrows(PersistenceException.class, fanOut::execute);
+    assertTrue(e.getMessage().contains("selectFromMissingTable"));
+  }
+
+  @Test
+  void slowCallTimesOut() {
+    FanOut fanOut = sqlSessionFactory.fanOut();
+    fanOut.add(session -> session.getMapper(Mapper.class).selectName(1));
+    fanOut.add(session -> {
+      try {
+        Thread.sleep(5000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    }, 100, TimeUnit.MILLISECONDS);
+    PersistenceException e = assertThrows(PersistenceException.class, fanOut::execute);
+    assertTrue(e.getCause() instanceof TimeoutException);
+    assertTrue(e.getMessage().contains("Call #2"));
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.multi_row_insert;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MultiRowInsertTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // create an SqlSessionFactory
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/multi_row_insert/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/multi_row_insert/CreateDB.sql");
+  }
+
+  @Test
+  void valuesClauseIsRepeatedForEachRow() {
+    MappedStatement ms = sqlSessionFactory.getConfiguration()
+        .getMappedStatement("org.apache.ibatis.submitted.multi_row_insert.Mapper.insertUsersWithNotes");
+    User user1 = new User("User1");
+    User user2 = new User("User2");
+    user2.setNote("Note2");
+    BoundSql boundSql = ms.getBoundSql(Arrays.asList(user1, user2));
+    assertEquals("insert into users (name, note) values (?, ?), (?, ?)", boundSql.getSql());
+    assertEquals(4, boundSql.getParameterMappings().size());
+    assertEquals("User1", boundSql.getParameterMappings().get(0).getValue());
+    assertEquals(null, boundSql.getParameterMappings().get(1).getValue());
+    assertEquals("User2", boundSql.getParameterMappings().get(2).getValue());
+    assertEquals("Note2", boundSql.getParameterMappings().get(3).getValue());
+  }
+
+  @Test
+  void listIsInsertedInChunks() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        users.add(new User("User" + i));
+      }
+      assertEquals(5, mapper.insertUsers(users));
+      assertEquals(5, mapper.countUsers());
+      assertKeysAreSet(users);
+      assertEquals("why?", mapper.selectNote(users.get(4).getId()));
+    }
+  }
+
+  @Test
+  void arrayIsInsertedInChunks() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      User user1 = new User("User1");
+      User user2 = new User("User2");
+      user2.setNote("Note2");
+      assertEquals(2, mapper.insertUsersWithNotes(user1, user2));
+      assertKeysAreSet(Arrays.asList(user1, user2));
+      assertEquals(null, mapper.selectNote(user1.getId()));
+      assertEquals("Note2", mapper.selectNote(user2.getId()));
+    }
+  }
+
+  @Test
+  void singleRowIsInsertedAsIs() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      User user = new User("User1");
+      assertEquals(1, sqlSession.insert("org.apache.ibatis.submitted.multi_row_insert.Mapper.insertUsers", user));
+      assertNotNull(user.getId());
+      assertEquals(1, sqlSession.getMapper(Mapper.class).countUsers());
+    }
+  }
+
+  @Test
+  void chunksAreBatched() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        users.add(new User("User" + i));
+      }
+      mapper.insertUsers(users);
+      List<BatchResult> results = sqlSession.flushStatements();
+      // two statements with two rows and one with the last row
+      assertEquals(2, results.size());
+      assertKeysAreSet(users);
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals(5, sqlSession.getMapper(Mapper.class).countUsers());
+    }
+  }
+
+  private void assertKeysAreSet(List<User> users) {
+    Set<Integer> ids = new HashSet<>();
+    for (User user : users) {
+      assertNotNull(user.getId());
+      ids.add(user.getId());
+    }
+    assertEquals(users.size(), ids.size());
+  }
+
+  @Test
+  void selectKeyIsRejected() {
+    Configuration configuration = new Configuration();
+    BuilderException e = assertThrows(BuilderException.class, () -> configuration.addMapper(SelectKeyMapper.class));
+    assertTrue(e.getMessage().contains("cannot be used with a selectKey"));
+  }
+
+}
@@ -0,0 +1,30 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       https://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+drop table users if exists;
+
+create table users (
+  id int,
+  name varchar(20),
+  age int,
+  nick_name varchar(20),
+  city varchar(20),
+  visit_count bigint,
+  score double
+);
+
+insert into users (id, name, age, nick_name, city, visit_count, score) values(1, 'User1', 30, 'One', 'Tokyo', 10000000000, 1.5);
+insert into users (id, name, age, nick_name, city, visit_count, score) values(2, null, null, null, null, null, null);